@@ -0,0 +1,58 @@
+package com.objectedge.artem.ai.poc.benchmarks;
+
+import com.objectedge.artem.ai.poc.engine.TournamentEngine;
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.TournamentState;
+import java.util.*;
+
+/**
+ * Deterministic fixtures shared by the benchmarks
+ */
+final class BenchmarkData {
+    private static final String[] HANDS = {"left", "right"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @return Registrants with reproducible names, ages and hands
+     */
+    static List<Armwrestler> wrestlers(int count, long seed) {
+        Random random = new Random(seed);
+        List<Armwrestler> wrestlers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            wrestlers.add(new Armwrestler("Name" + i, "Surname" + i, 16 + random.nextInt(50), HANDS[random.nextInt(2)]));
+        }
+        return wrestlers;
+    }
+
+    /**
+     * Reset win/loss records so the same wrestlers can start a new bracket
+     */
+    static void resetRecords(List<Armwrestler> wrestlers) {
+        for (Armwrestler w : wrestlers) {
+            w.setRecord(0, 0);
+        }
+    }
+
+    /**
+     * Decide every open match of the current stage; the first wrestler of each pair wins
+     */
+    static void recordRoundResults(TournamentEngine engine) {
+        TournamentState state = engine.getState();
+        if (state.isFinal() || state.isSuperFinal()) {
+            engine.recordFinalResult(state.getTopSectionWrestlers().get(0).getId());
+            return;
+        }
+        if (!state.isSemifinal()) {
+            recordSectionResults(engine, true, state.getTopSectionWrestlers());
+        }
+        recordSectionResults(engine, false, state.getBottomSectionWrestlers());
+    }
+
+    private static void recordSectionResults(TournamentEngine engine, boolean isTopSection, List<Armwrestler> wrestlers) {
+        for (int i = 0; i + 1 < wrestlers.size(); i += 2) {
+            engine.recordResult(isTopSection, i / 2, wrestlers.get(i).getId());
+        }
+    }
+}
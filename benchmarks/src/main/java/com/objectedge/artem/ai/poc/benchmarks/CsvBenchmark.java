@@ -0,0 +1,80 @@
+package com.objectedge.artem.ai.poc.benchmarks;
+
+import com.objectedge.artem.ai.poc.helpers.CSVImportReport;
+import com.objectedge.artem.ai.poc.helpers.CSVLoader;
+import com.objectedge.artem.ai.poc.helpers.ParallelCSVLoader;
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration CSV load and save throughput; one operation is one whole file
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dfile.encoding=UTF-8"})
+public class CsvBenchmark {
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Param({"10000", "1000000"})
+    private int rowCount;
+
+    private List<Armwrestler> wrestlers;
+    private Path inputFile;
+    private Path outputFile;
+
+    @Setup(Level.Trial)
+    public void writeInputFile() throws IOException {
+        wrestlers = BenchmarkData.wrestlers(rowCount, 42);
+        inputFile = Files.createTempFile("armwrestlers-bench-in", ".csv");
+        outputFile = Files.createTempFile("armwrestlers-bench-out", ".csv");
+        CSVLoader.saveToCSV(inputFile.toString(), wrestlers);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(inputFile);
+        Files.deleteIfExists(outputFile);
+    }
+
+    /**
+     * Sequential fail-fast load
+     */
+    @Benchmark
+    public List<Armwrestler> loadFromCSV() throws IOException {
+        return CSVLoader.loadFromCSV(inputFile.toString());
+    }
+
+    /**
+     * Streaming import with per-row error collection, as used by the registration form
+     */
+    @Benchmark
+    public CSVImportReport importFromCSV() throws IOException {
+        return CSVLoader.importFromCSV(inputFile.toString(), MAX_REPORTED_ERRORS, null);
+    }
+
+    /**
+     * Memory-mapped chunked load on all cores
+     */
+    @Benchmark
+    public List<Armwrestler> parallelLoadFromCSV() throws IOException {
+        return ParallelCSVLoader.loadFromCSV(inputFile.toString());
+    }
+
+    /**
+     * Buffered export with atomic replace of the target file
+     */
+    @Benchmark
+    public Path saveToCSV() throws IOException {
+        CSVLoader.saveToCSV(outputFile.toString(), wrestlers);
+        return outputFile;
+    }
+}
@@ -0,0 +1,94 @@
+package com.objectedge.artem.ai.poc.benchmarks;
+
+import com.objectedge.artem.ai.poc.engine.TournamentEngine;
+import com.objectedge.artem.ai.poc.managers.TournamentProgression;
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round advancement through {@link TournamentProgression#proceedToNextRound()} across bracket sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ProgressionBenchmark {
+    @Param({"16", "128", "1024", "8192"})
+    private int bracketSize;
+
+    private List<Armwrestler> wrestlers;
+    private TournamentEngine engine;
+    private TournamentProgression progression;
+
+    @Setup(Level.Trial)
+    public void createWrestlers() {
+        wrestlers = BenchmarkData.wrestlers(bracketSize, 42);
+    }
+
+    /**
+     * Fresh bracket with every round 1 match decided, ready to advance
+     */
+    @Setup(Level.Invocation)
+    public void decideFirstRound(Blackhole blackhole) {
+        BenchmarkData.resetRecords(wrestlers);
+        engine = new TournamentEngine();
+        engine.createBracket(wrestlers);
+        BenchmarkData.recordRoundResults(engine);
+        progression = new TournamentProgression(engine, new ConsumingListener(blackhole));
+    }
+
+    /**
+     * Advance from round 1 to round 2: winners/losers split, section rebuild, bye credits and standings ranking
+     */
+    @Benchmark
+    public TournamentEngine proceedToNextRound() {
+        progression.proceedToNextRound();
+        return engine;
+    }
+
+    /**
+     * Play a whole bracket to its champion: result entry plus every round advance
+     */
+    @Benchmark
+    public Armwrestler playTournament() {
+        while (!engine.isComplete()) {
+            BenchmarkData.recordRoundResults(engine);
+            progression.proceedToNextRound();
+        }
+        return engine.getChampion();
+    }
+
+    private static class ConsumingListener implements TournamentProgression.TournamentProgressionListener {
+        private final Blackhole blackhole;
+
+        ConsumingListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onTournamentComplete(Armwrestler winner) {
+            blackhole.consume(winner);
+        }
+
+        @Override
+        public void onSuperFinalInitiated(Armwrestler finalist1, Armwrestler finalist2) {
+            blackhole.consume(finalist1);
+        }
+
+        @Override
+        public void onRoundDisplayRequested() {
+            blackhole.consume(this);
+        }
+
+        @Override
+        public void onValidationFailed() {
+            throw new IllegalStateException("Round was not complete");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.objectedge.artem.ai.poc.benchmarks;
+
+import com.objectedge.artem.ai.poc.engine.TournamentEngine;
+import com.objectedge.artem.ai.poc.managers.RoundTabManager;
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless construction of round tabs in {@link RoundTabManager}.
+ * Components are built on the benchmark thread; nothing is shown or painted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RoundViewBenchmark {
+    private static final int PLAYED_ROUNDS = 3;
+
+    @Param({"16", "1024", "8192"})
+    private int bracketSize;
+
+    private TournamentEngine engine;
+    private RoundTabManager roundTabManager;
+
+    /**
+     * Bracket in round 4 with three completed rounds in its history
+     */
+    @Setup(Level.Trial)
+    public void playFirstRounds() {
+        List<Armwrestler> wrestlers = BenchmarkData.wrestlers(bracketSize, 42);
+        engine = new TournamentEngine();
+        engine.createBracket(wrestlers);
+        for (int i = 0; i < PLAYED_ROUNDS && !engine.isComplete(); i++) {
+            BenchmarkData.recordRoundResults(engine);
+            engine.advanceRound();
+        }
+        roundTabManager = newRoundTabManager();
+    }
+
+    /**
+     * Build the current round's tab from the live state in a fresh manager
+     */
+    @Benchmark
+    public JTabbedPane createNewRound() {
+        RoundTabManager manager = newRoundTabManager();
+        manager.createNewRound();
+        return manager.getTabbedPane();
+    }
+
+    /**
+     * Drop and rebuild all tabs (placeholders for past rounds plus the current round), as after an undo
+     */
+    @Benchmark
+    public JTabbedPane rebuildRounds() {
+        roundTabManager.rebuildRounds();
+        return roundTabManager.getTabbedPane();
+    }
+
+    private RoundTabManager newRoundTabManager() {
+        return new RoundTabManager(engine,
+                (winnerId, loserId, matchIndex, isTopSection) -> { },
+                (winnerId, loserId, buttonWinner, buttonLoser) -> { });
+    }
+}
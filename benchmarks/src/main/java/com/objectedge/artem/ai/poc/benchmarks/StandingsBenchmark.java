@@ -0,0 +1,62 @@
+package com.objectedge.artem.ai.poc.benchmarks;
+
+import com.objectedge.artem.ai.poc.managers.TournamentTableManager;
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Standings sorting in {@link TournamentTableManager}: full re-rank and incremental updates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class StandingsBenchmark {
+    @Param({"128", "4096", "100000"})
+    private int participantCount;
+
+    private List<Armwrestler> participants;
+    private TournamentTableManager tableManager;
+    private int nextWrestler;
+
+    @Setup(Level.Trial)
+    public void createStandings() {
+        participants = BenchmarkData.wrestlers(participantCount, 42);
+        Random random = new Random(7);
+        for (Armwrestler w : participants) {
+            w.setRecord(random.nextInt(8), random.nextInt(3));
+        }
+        tableManager = new TournamentTableManager();
+        tableManager.updateTable(participants);
+    }
+
+    /**
+     * Re-rank every participant, as done at round transitions
+     */
+    @Benchmark
+    public TournamentTableManager updateTable() {
+        tableManager.updateTable(participants);
+        return tableManager;
+    }
+
+    /**
+     * Record and then correct a single win, re-ranking only the changed wrestler each time
+     */
+    @Benchmark
+    public TournamentTableManager updateWrestlers() {
+        Armwrestler w = participants.get(nextWrestler);
+        nextWrestler = (nextWrestler + 1) % participants.size();
+
+        w.incrementWins();
+        tableManager.updateWrestlers(w);
+        w.decrementWins();
+        tableManager.updateWrestlers(w);
+        return tableManager;
+    }
+}
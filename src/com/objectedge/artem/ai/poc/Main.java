@@ -1,12 +1,21 @@
 package com.objectedge.artem.ai.poc;
 
 import com.objectedge.artem.ai.poc.forms.CompetitionForm;
+import com.objectedge.artem.ai.poc.helpers.EventMetrics;
 import javax.swing.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class Main {
     public static void main(String[] args) {
+        // Results are journaled here so a crashed event can be resumed on the next start
+        Path journalDirectory = Paths.get(System.getProperty("user.home"), ".armwrestling-competition");
+
+        // Live event metrics for JConsole / VisualVM
+        EventMetrics.registerMBean();
+
         SwingUtilities.invokeLater(() -> {
-            CompetitionForm form = new CompetitionForm();
+            CompetitionForm form = new CompetitionForm(journalDirectory);
             form.setVisible(true);
         });
     }
@@ -0,0 +1,161 @@
+package com.objectedge.artem.ai.poc.engine;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Seeding stage run before a bracket is created: turns a ranking into the draw order
+ * passed to {@link TournamentEngine#createBracket(List)}.
+ *
+ * The engine pairs neighbours in the draw, gives the last wrestler of an odd section a bye
+ * and puts bye wrestlers ahead of the match winners in the next round. Seeds are placed so
+ * that, if the better seed always wins, the top-section winners of every round are again in
+ * seeded order: for a power-of-two field this is the standard bracket (1 v 8, 4 v 5, 2 v 7,
+ * 3 v 6), byes go to top seeds, and seeds 1 and 2 can only meet once two wrestlers are left
+ * in the top section.
+ *
+ * With random draws within tiers, ranks 3-4, 5-8, 9-16, ... are shuffled among themselves
+ * before they are placed, as in a seeded draw, and equal ratings are ordered randomly.
+ */
+public class BracketSeeder {
+    private final boolean randomWithinTiers;
+    private final long seed;
+
+    /**
+     * @param randomWithinTiers Whether to draw randomly within each seed tier
+     * @param seed Seed of the random draw; the same seed gives the same draw
+     */
+    public BracketSeeder(boolean randomWithinTiers, long seed) {
+        this.randomWithinTiers = randomWithinTiers;
+        this.seed = seed;
+    }
+
+    /**
+     * Rank wrestlers by rating, best first, and place them in the draw
+     *
+     * @param rating Rating of a wrestler; higher is better
+     * @return Draw order
+     */
+    public List<Armwrestler> seed(List<Armwrestler> wrestlers, ToDoubleFunction<Armwrestler> rating) {
+        int n = wrestlers.size();
+        Armwrestler[] ranked = wrestlers.toArray(new Armwrestler[0]);
+        SplittableRandom random = new SplittableRandom(seed);
+        if (randomWithinTiers) {
+            // The sort below is stable, so shuffling first breaks rating ties randomly
+            shuffle(ranked, 0, n, random);
+        }
+
+        // Sort primitive keys: the negated rating as an order-preserving float in the high half,
+        // the current position in the low half, so equal ratings keep their (shuffled) order
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) sortableBits((float) -rating.applyAsDouble(ranked[i])) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        Armwrestler[] sorted = new Armwrestler[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = ranked[(int) keys[i]];
+        }
+        return place(sorted, random);
+    }
+
+    /**
+     * Place wrestlers that are already in seed order, e.g. a seed list entered by the organizers
+     *
+     * @param seedOrder Wrestlers best first
+     * @return Draw order
+     */
+    public List<Armwrestler> seed(List<Armwrestler> seedOrder) {
+        return place(seedOrder.toArray(new Armwrestler[0]), new SplittableRandom(seed));
+    }
+
+    private List<Armwrestler> place(Armwrestler[] ranked, SplittableRandom random) {
+        if (randomWithinTiers) {
+            for (int tierStart = 2; tierStart < ranked.length; tierStart *= 2) {
+                shuffle(ranked, tierStart, Math.min(tierStart * 2, ranked.length), random);
+            }
+        }
+
+        int[] positions = drawPositions(ranked.length);
+        List<Armwrestler> draw = new ArrayList<>(ranked.length);
+        for (int position : positions) {
+            draw.add(ranked[position]);
+        }
+        return draw;
+    }
+
+    /**
+     * Seed numbers (0 = best) in draw order for a field of the given size.
+     * Built bottom-up: the order for n wrestlers expands the order for the
+     * ceil(n / 2) wrestlers expected to win their first-round match or bye.
+     */
+    public static int[] drawPositions(int n) {
+        if (n <= 1) {
+            return new int[n];
+        }
+
+        // Field sizes of every round, down to the last two
+        int levels = 0;
+        for (int size = n; size > 2; size = (size + 1) / 2) {
+            levels++;
+        }
+        int[] sizes = new int[levels + 1];
+        sizes[levels] = n;
+        for (int i = levels; i > 0; i--) {
+            sizes[i - 1] = (sizes[i] + 1) / 2;
+        }
+
+        int[] order = {0, 1};
+        for (int i = 1; i <= levels; i++) {
+            order = expand(order, sizes[i]);
+        }
+        return order;
+    }
+
+    /**
+     * @param next Seed order of the next round, whose size is ceil(n / 2)
+     * @param n Field size of this round
+     */
+    private static int[] expand(int[] next, int n) {
+        int[] order = new int[n];
+        int p = 0;
+        if (n % 2 == 0) {
+            // Seed s meets seed n - 1 - s
+            for (int s : next) {
+                order[p++] = s;
+                order[p++] = n - 1 - s;
+            }
+        } else {
+            // The first wrestler of the next round is the one who gets the bye, which comes
+            // last in this round; the other advancing seeds meet the lower half best against worst
+            int bye = next[0];
+            for (int i = 1; i < next.length; i++) {
+                int s = next[i];
+                int rank = s < bye ? s : s - 1;
+                order[p++] = s;
+                order[p++] = n - 1 - rank;
+            }
+            order[p] = bye;
+        }
+        return order;
+    }
+
+    /**
+     * @return Bits of the value that compare as signed ints in the same order as the floats
+     */
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    private static void shuffle(Armwrestler[] wrestlers, int from, int to, SplittableRandom random) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            Armwrestler swap = wrestlers[i];
+            wrestlers[i] = wrestlers[j];
+            wrestlers[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.objectedge.artem.ai.poc.engine;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo simulation of whole brackets, used to predict medal chances and event length
+ * before the draw.
+ *
+ * Plays the same double-elimination rules as {@link TournamentEngine}: everyone starts in
+ * the top section, a wrestler left without a pair gets a bye and moves on ahead of the match
+ * winners, top-section losers drop to the bottom section behind the bottom winners, a second
+ * loss eliminates, and once a single top-section wrestler and two bottom-section wrestlers
+ * remain the bottom pair plays the semifinal, its winner meets the top wrestler in the final,
+ * and a final won by the bottom wrestler forces a super-final.
+ *
+ * A match between wrestlers i and j is won by i with probability
+ * strength[i] / (strength[i] + strength[j]). Iterations are split into fork-join tasks, each
+ * with its own {@link SplittableRandom} stream and preallocated bracket arrays, so simulating
+ * a match allocates nothing and results are reproducible for a given seed.
+ */
+public class BracketSimulator {
+    private static final int MIN_PARTICIPANTS = 3;
+    private static final int ITERATIONS_PER_TASK = 4096;
+
+    private final double[] strengths;
+
+    /**
+     * Aggregated outcome of a simulation. Participant indices are positions in the strengths array.
+     */
+    public static class SimulationResult {
+        private final int iterations;
+        private final long[] gold;
+        private final long[] silver;
+        private final long[] bronze;
+        private final long totalRounds;
+        private final long totalMatches;
+        private final int maxRounds;
+
+        private SimulationResult(int iterations, Tally tally) {
+            this.iterations = iterations;
+            this.gold = tally.gold;
+            this.silver = tally.silver;
+            this.bronze = tally.bronze;
+            this.totalRounds = tally.rounds;
+            this.totalMatches = tally.matches;
+            this.maxRounds = tally.maxRounds;
+        }
+
+        public int getIterations() { return iterations; }
+        public double getGoldProbability(int participant) { return (double) gold[participant] / iterations; }
+        public double getSilverProbability(int participant) { return (double) silver[participant] / iterations; }
+        public double getBronzeProbability(int participant) { return (double) bronze[participant] / iterations; }
+
+        public double getMedalProbability(int participant) {
+            return (double) (gold[participant] + silver[participant] + bronze[participant]) / iterations;
+        }
+
+        /**
+         * @return Average number of rounds, counting semifinal, final and super-final as rounds
+         */
+        public double getAverageRounds() { return (double) totalRounds / iterations; }
+
+        /**
+         * @return Average number of matches actually wrestled (byes excluded)
+         */
+        public double getAverageMatches() { return (double) totalMatches / iterations; }
+
+        public int getMaxRounds() { return maxRounds; }
+    }
+
+    /**
+     * @param strengths Positive strength estimate per participant, e.g. a rating or a win-rate based score
+     * @throws IllegalArgumentException If there are fewer than 3 participants or a strength is not positive
+     */
+    public BracketSimulator(double[] strengths) {
+        if (strengths.length < MIN_PARTICIPANTS) {
+            throw new IllegalArgumentException("At least " + MIN_PARTICIPANTS + " participants are required, got " + strengths.length);
+        }
+        for (double strength : strengths) {
+            if (!(strength > 0) || Double.isInfinite(strength)) {
+                throw new IllegalArgumentException("Strength must be a positive number, got " + strength);
+            }
+        }
+        this.strengths = strengths.clone();
+    }
+
+    public int getParticipantCount() {
+        return strengths.length;
+    }
+
+    /**
+     * Simulate brackets with a fresh random draw each time, on the common fork-join pool
+     *
+     * @param iterations Number of brackets to play
+     * @param seed Seed of the random streams; the same seed gives the same result
+     */
+    public SimulationResult simulate(int iterations, long seed) {
+        return simulate(iterations, true, seed);
+    }
+
+    /**
+     * @param iterations Number of brackets to play
+     * @param randomDraw Whether to shuffle the draw before every bracket; if false the
+     *                   strengths order is used as the draw order (e.g. after the real draw)
+     * @param seed Seed of the random streams; the same seed gives the same result
+     */
+    public SimulationResult simulate(int iterations, boolean randomDraw, long seed) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive, got " + iterations);
+        }
+        SimulationTask task = new SimulationTask(0, iterations, randomDraw, new SplittableRandom(seed));
+        return new SimulationResult(iterations, ForkJoinPool.commonPool().invoke(task));
+    }
+
+    /**
+     * Plays a range of iterations, splitting it in halves until it is small enough
+     */
+    private class SimulationTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final boolean randomDraw;
+        private final SplittableRandom random;
+
+        SimulationTask(int from, int to, boolean randomDraw, SplittableRandom random) {
+            this.from = from;
+            this.to = to;
+            this.randomDraw = randomDraw;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= ITERATIONS_PER_TASK) {
+                Bracket bracket = new Bracket(random);
+                Tally tally = new Tally(strengths.length);
+                for (int i = from; i < to; i++) {
+                    bracket.play(randomDraw, tally);
+                }
+                return tally;
+            }
+
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(from, mid, randomDraw, random.split());
+            SimulationTask right = new SimulationTask(mid, to, randomDraw, random);
+            left.fork();
+            Tally tally = right.compute();
+            tally.add(left.join());
+            return tally;
+        }
+    }
+
+    /**
+     * Medal and duration counters of a batch of simulated brackets
+     */
+    private static class Tally {
+        private final long[] gold;
+        private final long[] silver;
+        private final long[] bronze;
+        private long rounds;
+        private long matches;
+        private int maxRounds;
+
+        Tally(int participantCount) {
+            this.gold = new long[participantCount];
+            this.silver = new long[participantCount];
+            this.bronze = new long[participantCount];
+        }
+
+        void add(Tally other) {
+            for (int i = 0; i < gold.length; i++) {
+                gold[i] += other.gold[i];
+                silver[i] += other.silver[i];
+                bronze[i] += other.bronze[i];
+            }
+            rounds += other.rounds;
+            matches += other.matches;
+            maxRounds = Math.max(maxRounds, other.maxRounds);
+        }
+    }
+
+    /**
+     * Reusable bracket state of one task: sections are participant indices in pairing order
+     */
+    private class Bracket {
+        private final SplittableRandom random;
+        private final int[] draw;
+        private int[] top;
+        private int[] bottom;
+        private int[] nextTop;
+        private int[] nextBottom;
+
+        Bracket(SplittableRandom random) {
+            int n = strengths.length;
+            this.random = random;
+            this.draw = new int[n];
+            for (int i = 0; i < n; i++) {
+                draw[i] = i;
+            }
+            this.top = new int[n];
+            this.bottom = new int[n];
+            this.nextTop = new int[n];
+            this.nextBottom = new int[n];
+        }
+
+        void play(boolean randomDraw, Tally tally) {
+            int n = draw.length;
+            if (randomDraw) {
+                for (int i = n - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int swap = draw[i];
+                    draw[i] = draw[j];
+                    draw[j] = swap;
+                }
+            }
+            System.arraycopy(draw, 0, top, 0, n);
+            int topSize = n;
+            int bottomSize = 0;
+            int rounds = 0;
+            int matches = 0;
+
+            // Regular rounds until one top wrestler and two bottom wrestlers are left
+            while (true) {
+                rounds++;
+                int nextTopSize = 0;
+                int nextBottomSize = 0;
+
+                // Bye wrestlers go first, ahead of the match winners
+                if ((topSize & 1) != 0) nextTop[nextTopSize++] = top[topSize - 1];
+                if ((bottomSize & 1) != 0) nextBottom[nextBottomSize++] = bottom[bottomSize - 1];
+
+                // Bottom losers are eliminated
+                for (int i = 0; i + 1 < bottomSize; i += 2) {
+                    nextBottom[nextBottomSize++] = winner(bottom[i], bottom[i + 1]);
+                    matches++;
+                }
+                // Top losers drop to the bottom section behind the bottom winners
+                for (int i = 0; i + 1 < topSize; i += 2) {
+                    int winner = winner(top[i], top[i + 1]);
+                    nextTop[nextTopSize++] = winner;
+                    nextBottom[nextBottomSize++] = winner == top[i] ? top[i + 1] : top[i];
+                    matches++;
+                }
+
+                int[] swap = top;
+                top = nextTop;
+                nextTop = swap;
+                swap = bottom;
+                bottom = nextBottom;
+                nextBottom = swap;
+                topSize = nextTopSize;
+                bottomSize = nextBottomSize;
+
+                if (topSize == 1 && bottomSize == 2) break;
+            }
+
+            // Semifinal: the bottom pair; its loser takes bronze
+            int semifinalWinner = winner(bottom[0], bottom[1]);
+            int bronze = semifinalWinner == bottom[0] ? bottom[1] : bottom[0];
+
+            // Final: an undefeated top wrestler wins outright; otherwise a super-final decides
+            int topFinalist = top[0];
+            int gold = winner(topFinalist, semifinalWinner);
+            rounds += 2;
+            matches += 2;
+            if (gold == semifinalWinner) {
+                gold = winner(semifinalWinner, topFinalist);
+                rounds++;
+                matches++;
+            }
+            int silver = gold == topFinalist ? semifinalWinner : topFinalist;
+
+            tally.gold[gold]++;
+            tally.silver[silver]++;
+            tally.bronze[bronze]++;
+            tally.rounds += rounds;
+            tally.matches += matches;
+            tally.maxRounds = Math.max(tally.maxRounds, rounds);
+        }
+
+        private int winner(int a, int b) {
+            double strengthA = strengths[a];
+            return random.nextDouble() * (strengthA + strengths[b]) < strengthA ? a : b;
+        }
+    }
+}
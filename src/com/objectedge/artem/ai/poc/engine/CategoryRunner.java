@@ -0,0 +1,265 @@
+package com.objectedge.artem.ai.poc.engine;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Runs many independent tournaments (one per category, e.g. "Left / 18-23") side by side.
+ *
+ * Each category owns its own {@link TournamentEngine}. Work for a category is queued on a
+ * per-category serial lane, so calls against one category are applied one at a time and
+ * in submission order, while different categories run concurrently on one bounded thread
+ * pool. A slow or busy category never blocks the others, and no engine is touched by two
+ * threads at once.
+ */
+public class CategoryRunner implements AutoCloseable {
+    private static final int MAX_BATCH = 32;
+
+    private final ExecutorService pool;
+    private final Map<String, Category> categories = new ConcurrentHashMap<>();
+
+    /**
+     * Read-only summary of one category for the aggregated event view
+     */
+    public static class CategorySummary {
+        private final String name;
+        private final int participantCount;
+        private final long activeCount;
+        private final int roundNumber;
+        private final boolean roundComplete;
+        private final Armwrestler champion;
+
+        private CategorySummary(String name, TournamentEngine engine) {
+            this.name = name;
+            this.participantCount = engine.getState().getAllParticipants().size();
+            this.activeCount = engine.getActiveWrestlerCount();
+            this.roundNumber = engine.getRoundHistory().size() + 1;
+            this.roundComplete = engine.isRoundComplete();
+            this.champion = engine.getChampion();
+        }
+
+        public String getName() { return name; }
+        public int getParticipantCount() { return participantCount; }
+        public long getActiveCount() { return activeCount; }
+        public int getRoundNumber() { return roundNumber; }
+        public boolean isRoundComplete() { return roundComplete; }
+        public boolean isComplete() { return champion != null; }
+        public Armwrestler getChampion() { return champion; }
+    }
+
+    public CategoryRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param threads Maximum number of categories processed at the same time
+     */
+    public CategoryRunner(int threads) {
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "category-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a category and its bracket
+     *
+     * @throws IllegalArgumentException If a category with that name already exists
+     */
+    public CompletableFuture<Void> createCategory(String name, List<Armwrestler> wrestlers) {
+        Category category = new Category(new TournamentEngine());
+        if (categories.putIfAbsent(name, category) != null) {
+            throw new IllegalArgumentException("Category already exists: " + name);
+        }
+        List<Armwrestler> draw = new ArrayList<>(wrestlers);
+        return category.submit(engine -> {
+            engine.createBracket(draw);
+            return null;
+        });
+    }
+
+    public boolean hasCategory(String name) {
+        return categories.containsKey(name);
+    }
+
+    /**
+     * @return Category names in alphabetical order
+     */
+    public List<String> getCategoryNames() {
+        List<String> names = new ArrayList<>(categories.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Run an operation against one category's engine on that category's lane
+     *
+     * @throws IllegalArgumentException If the category does not exist
+     */
+    public <T> CompletableFuture<T> submit(String name, Function<TournamentEngine, T> operation) {
+        return getCategory(name).submit(operation);
+    }
+
+    public CompletableFuture<Boolean> recordResult(String name, boolean isTopSection, int matchIndex, int winnerId) {
+        return submit(name, engine -> engine.recordResult(isTopSection, matchIndex, winnerId));
+    }
+
+    public CompletableFuture<Boolean> recordFinalResult(String name, int winnerId) {
+        return submit(name, engine -> engine.recordFinalResult(winnerId));
+    }
+
+    public CompletableFuture<TournamentEngine.RoundAdvance> advanceRound(String name) {
+        return submit(name, TournamentEngine::advanceRound);
+    }
+
+    /**
+     * Try to advance every category at once
+     *
+     * @return Outcome per category name, in alphabetical order
+     */
+    public CompletableFuture<Map<String, TournamentEngine.RoundAdvance>> advanceAll() {
+        return forAll(TournamentEngine::advanceRound);
+    }
+
+    /**
+     * Summarize every category concurrently, each on its own lane
+     *
+     * @return Summaries in alphabetical order of category name
+     */
+    public CompletableFuture<List<CategorySummary>> getSummaries() {
+        List<String> names = getCategoryNames();
+        List<CompletableFuture<CategorySummary>> futures = new ArrayList<>(names.size());
+        for (String name : names) {
+            futures.add(submit(name, engine -> new CategorySummary(name, engine)));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<CategorySummary> summaries = new ArrayList<>(futures.size());
+            for (CompletableFuture<CategorySummary> future : futures) {
+                summaries.add(future.join());
+            }
+            return summaries;
+        });
+    }
+
+    /**
+     * Run the same operation against every category concurrently
+     */
+    public <T> CompletableFuture<Map<String, T>> forAll(Function<TournamentEngine, T> operation) {
+        List<String> names = getCategoryNames();
+        List<CompletableFuture<T>> futures = new ArrayList<>(names.size());
+        for (String name : names) {
+            futures.add(submit(name, operation));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<String, T> results = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                results.put(names.get(i), futures.get(i).join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Stop accepting work; queued operations are still completed
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private Category getCategory(String name) {
+        Category category = categories.get(name);
+        if (category == null) {
+            throw new IllegalArgumentException("Unknown category: " + name);
+        }
+        return category;
+    }
+
+    /**
+     * One category: its engine and a serial lane of pending operations.
+     * At most one task per category is on the pool at any time.
+     */
+    private class Category {
+        private final TournamentEngine engine;
+        private final Queue<Operation<?>> lane = new ArrayDeque<>();
+        private boolean running;
+
+        Category(TournamentEngine engine) {
+            this.engine = engine;
+        }
+
+        <T> CompletableFuture<T> submit(Function<TournamentEngine, T> operation) {
+            Operation<T> task = new Operation<>(operation);
+            synchronized (this) {
+                lane.add(task);
+                if (running) return task.future;
+                running = true;
+            }
+            try {
+                pool.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Operations queued by other threads meanwhile saw the lane running and rely on this drain
+                List<Operation<?>> rejected;
+                synchronized (this) {
+                    rejected = new ArrayList<>(lane);
+                    lane.clear();
+                    running = false;
+                }
+                for (Operation<?> rejectedTask : rejected) {
+                    rejectedTask.future.completeExceptionally(e);
+                }
+            }
+            return task.future;
+        }
+
+        /**
+         * Run queued operations in order. Yields the pool thread after a batch so one busy
+         * category cannot starve the others.
+         */
+        private void drain() {
+            int batch = 0;
+            while (true) {
+                Operation<?> task;
+                synchronized (this) {
+                    task = lane.poll();
+                    if (task == null) {
+                        running = false;
+                        return;
+                    }
+                }
+                task.run();
+
+                if (++batch == MAX_BATCH) {
+                    try {
+                        pool.execute(this::drain);
+                        return;
+                    } catch (RejectedExecutionException e) {
+                        // Shutting down: finish the queued work on this thread
+                        batch = 0;
+                    }
+                }
+            }
+        }
+
+        private class Operation<T> implements Runnable {
+            private final Function<TournamentEngine, T> operation;
+            private final CompletableFuture<T> future = new CompletableFuture<>();
+
+            Operation(Function<TournamentEngine, T> operation) {
+                this.operation = operation;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    future.complete(operation.apply(engine));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        }
+    }
+}
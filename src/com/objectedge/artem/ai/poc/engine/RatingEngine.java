@@ -0,0 +1,441 @@
+package com.objectedge.artem.ai.poc.engine;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RatingRecord;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
+import com.objectedge.artem.ai.poc.models.RoundSnapshot;
+import com.objectedge.artem.ai.poc.models.TournamentState;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Glicko ratings of all wrestlers, updated incrementally as results are recorded.
+ *
+ * Registered as an engine listener, so every result entered through the match and final
+ * listeners or the engine API updates the two wrestlers in O(1) without looking at the history.
+ * Ratings, deviations and match counts live in primitive arrays indexed by the dense wrestler ID.
+ * Every round is a Glicko rating period in which a wrestler plays at most one match, so
+ * applying a round's matches one by one gives the same ratings as rating the whole round at
+ * once, and a corrected result is handled by restoring the two wrestlers' pre-match values.
+ *
+ * Ratings carry over between tournaments by player name: they are seeded from the records
+ * passed to the constructor and exported with {@link #getRatingRecords()}. At the start of a
+ * tournament every participant's deviation grows by {@link #DEVIATION_GROWTH_PER_TOURNAMENT}.
+ *
+ * When the bracket history is re-imported (a tournament resumed from the journal, or rewound
+ * for undo or an amendment) the tournament is re-rated from its starting ratings round by round;
+ * the matches of a large round are rated in parallel since they never share a wrestler.
+ * {@link #recompute(List)} does the same for a whole series of tournaments.
+ */
+public class RatingEngine implements TournamentEngine.EngineListener {
+    public static final double INITIAL_RATING = 1500;
+    public static final double INITIAL_DEVIATION = 350;
+    public static final double MIN_DEVIATION = 30;
+    public static final double DEVIATION_GROWTH_PER_TOURNAMENT = 50;
+
+    private static final double Q = Math.log(10) / 400;
+    private static final int PARALLEL_MATCH_THRESHOLD = 4096;
+
+    private final TournamentEngine engine;
+
+    // Indexed by wrestler ID; a deviation of 0 means the ID has no rating yet
+    private double[] ratings = new double[64];
+    private double[] deviations = new double[64];
+    private int[] matchCounts = new int[64];
+
+    // Ratings by player name: stored ones, and the wrestler currently holding each name's rating
+    private final Map<String, RatingRecord> storedRatings = new HashMap<>();
+    private final Map<String, Armwrestler> ratedByName = new HashMap<>();
+
+    // Ratings at the start of the current tournament, before the deviations grew, by participant index
+    private double[] startRatings = new double[0];
+    private double[] startDeviations = new double[0];
+    private int[] startMatchCounts = new int[0];
+
+    // Pre-match values of the matches decided in the current round, so a result can be corrected
+    private final Map<Integer, MatchUpdate> currentRoundUpdates = new HashMap<>();
+
+    private static class MatchUpdate {
+        private final int winnerId;
+        private final int loserId;
+        private final double winnerRating;
+        private final double winnerDeviation;
+        private final double loserRating;
+        private final double loserDeviation;
+
+        MatchUpdate(RatingEngine ratings, int winnerId, int loserId) {
+            this.winnerId = winnerId;
+            this.loserId = loserId;
+            this.winnerRating = ratings.ratings[winnerId];
+            this.winnerDeviation = ratings.deviations[winnerId];
+            this.loserRating = ratings.ratings[loserId];
+            this.loserDeviation = ratings.deviations[loserId];
+        }
+    }
+
+    /**
+     * Rate the engine's tournaments from now on. A tournament already in the engine
+     * (e.g. recovered from the journal) is rated from the stored ratings right away.
+     *
+     * @param engine Engine to listen to
+     * @param storedRatings Ratings saved after earlier tournaments, may be empty
+     */
+    public RatingEngine(TournamentEngine engine, List<RatingRecord> storedRatings) {
+        this.engine = engine;
+        for (RatingRecord record : storedRatings) {
+            this.storedRatings.put(nameKey(record.getName(), record.getSurname()), record);
+        }
+        engine.addEngineListener(this);
+
+        TournamentState state = engine.getState();
+        if (!state.getAllParticipants().isEmpty()) {
+            startTournament(state.getAllParticipants());
+            rerateTournament(state);
+        }
+    }
+
+    /**
+     * @return Current rating of the wrestler; for a wrestler who has not competed yet,
+     *         the stored rating of the same name or {@link #INITIAL_RATING}
+     */
+    public double getRating(Armwrestler wrestler) {
+        int id = wrestler.getId();
+        if (id < deviations.length && deviations[id] > 0) {
+            return ratings[id];
+        }
+        String key = nameKey(wrestler.getName(), wrestler.getSurname());
+        Armwrestler rated = ratedByName.get(key);
+        if (rated != null) {
+            return ratings[rated.getId()];
+        }
+        RatingRecord stored = storedRatings.get(key);
+        return stored != null ? stored.getRating() : INITIAL_RATING;
+    }
+
+    /**
+     * @return Strength for {@link BracketSimulator}: s(a) / (s(a) + s(b)) is the expected score of a against b
+     */
+    public double getStrength(Armwrestler wrestler) {
+        return Math.exp(Q * (getRating(wrestler) - INITIAL_RATING));
+    }
+
+    /**
+     * @return Rating deviation of a wrestler who has competed, or {@link #INITIAL_DEVIATION}
+     */
+    public double getDeviation(Armwrestler wrestler) {
+        int id = wrestler.getId();
+        return id < deviations.length && deviations[id] > 0 ? deviations[id] : INITIAL_DEVIATION;
+    }
+
+    /**
+     * @return Ratings of every known player, best first, ready to be saved for the next tournament
+     */
+    public List<RatingRecord> getRatingRecords() {
+        return ratingRecords(false);
+    }
+
+    /**
+     * @return Ratings of every known player as they were before the current tournament, best first;
+     *         passed back to the constructor they rate the tournament again the same way
+     */
+    public List<RatingRecord> getStartRatingRecords() {
+        return ratingRecords(true);
+    }
+
+    private List<RatingRecord> ratingRecords(boolean atTournamentStart) {
+        Map<Integer, Integer> participantIndices = new HashMap<>();
+        if (atTournamentStart) {
+            List<Armwrestler> participants = engine.getState().getAllParticipants();
+            for (int i = 0; i < participants.size() && i < startRatings.length; i++) {
+                participantIndices.put(participants.get(i).getId(), i);
+            }
+        }
+
+        Map<String, RatingRecord> records = new HashMap<>(storedRatings);
+        for (Map.Entry<String, Armwrestler> entry : ratedByName.entrySet()) {
+            Armwrestler w = entry.getValue();
+            int id = w.getId();
+            Integer index = participantIndices.get(id);
+            RatingRecord record = index != null
+                    ? new RatingRecord(w.getName(), w.getSurname(), startRatings[index], startDeviations[index], startMatchCounts[index])
+                    : new RatingRecord(w.getName(), w.getSurname(), ratings[id], deviations[id], matchCounts[id]);
+            records.put(entry.getKey(), record);
+        }
+        List<RatingRecord> sorted = new ArrayList<>(records.values());
+        sorted.sort((a, b) -> Double.compare(b.getRating(), a.getRating()));
+        return sorted;
+    }
+
+    /**
+     * Re-rate a series of tournaments from scratch, e.g. after their history was re-imported.
+     * Every player taking part starts from {@link #INITIAL_RATING} and carries the rating over
+     * to their next tournament by name; tournaments are rated in order and the matches of each
+     * large round in parallel. Meant to be called between tournaments.
+     *
+     * @param tournaments Round histories of the tournaments, oldest first
+     */
+    public void recompute(List<List<RoundSnapshot>> tournaments) {
+        BitSet forgotten = new BitSet();
+        for (List<RoundSnapshot> rounds : tournaments) {
+            for (RoundSnapshot round : rounds) {
+                forgetRatings(round.getTopSectionWrestlers(), forgotten);
+                forgetRatings(round.getBottomSectionWrestlers(), forgotten);
+            }
+        }
+        for (List<RoundSnapshot> rounds : tournaments) {
+            if (rounds.isEmpty()) continue;
+            // Everyone starts a tournament in the top section of round 1
+            for (Armwrestler w : rounds.get(0).getTopSectionWrestlers()) {
+                growDeviation(ensureRated(w));
+            }
+            for (RoundSnapshot round : rounds) {
+                rateRound(round);
+            }
+        }
+        currentRoundUpdates.clear();
+    }
+
+    @Override
+    public void onBracketCreated(TournamentState state) {
+        startTournament(state.getAllParticipants());
+    }
+
+    @Override
+    public void onResultRecorded(boolean isTopSection, int matchIndex, int winnerId) {
+        TournamentState state = engine.getState();
+        List<Armwrestler> wrestlers = isTopSection ? state.getTopSectionWrestlers() : state.getBottomSectionWrestlers();
+        Armwrestler w1 = wrestlers.get(matchIndex * 2);
+        Armwrestler w2 = wrestlers.get(matchIndex * 2 + 1);
+        boolean firstWon = w1.getId() == winnerId;
+        recordMatch(matchKey(isTopSection, matchIndex), firstWon ? w1 : w2, firstWon ? w2 : w1);
+    }
+
+    @Override
+    public void onFinalResultRecorded(int winnerId) {
+        TournamentState state = engine.getState();
+        Armwrestler topChamp = state.getTopSectionWrestlers().get(0);
+        Armwrestler bottomChamp = state.getBottomSectionWrestlers().get(0);
+        boolean topWon = topChamp.getId() == winnerId;
+        recordMatch(matchKey(true, 0), topWon ? topChamp : bottomChamp, topWon ? bottomChamp : topChamp);
+    }
+
+    @Override
+    public void onRoundAdvanced(TournamentEngine.RoundAdvance advance) {
+        currentRoundUpdates.clear();
+    }
+
+    @Override
+    public void onStateRestored(TournamentState state) {
+        rerateTournament(state);
+    }
+
+    private void startTournament(List<Armwrestler> participants) {
+        currentRoundUpdates.clear();
+        int n = participants.size();
+        startRatings = new double[n];
+        startDeviations = new double[n];
+        startMatchCounts = new int[n];
+        for (int i = 0; i < n; i++) {
+            int id = ensureRated(participants.get(i));
+            startRatings[i] = ratings[id];
+            startDeviations[i] = deviations[id];
+            startMatchCounts[i] = matchCounts[id];
+            growDeviation(id);
+        }
+    }
+
+    /**
+     * Rate the current tournament again from its starting ratings: completed rounds as whole
+     * rating periods, then the results entered so far in the current round
+     */
+    private void rerateTournament(TournamentState state) {
+        List<Armwrestler> participants = state.getAllParticipants();
+        for (int i = 0; i < participants.size(); i++) {
+            int id = participants.get(i).getId();
+            ratings[id] = startRatings[i];
+            deviations[id] = startDeviations[i];
+            matchCounts[id] = startMatchCounts[i];
+            growDeviation(id);
+        }
+        for (RoundSnapshot round : engine.getRoundHistory()) {
+            rateRound(round);
+        }
+
+        currentRoundUpdates.clear();
+        if (state.isFinal() || state.isSuperFinal()) {
+            int winnerId = state.getTopRoundOutcome().getWinnerId(0);
+            if (winnerId != RoundOutcome.NO_WINNER) {
+                onFinalResultRecorded(winnerId);
+            }
+            return;
+        }
+        replaySection(true, state.getTopSectionWrestlers(), state.getTopRoundOutcome());
+        replaySection(false, state.getBottomSectionWrestlers(), state.getBottomRoundOutcome());
+    }
+
+    private void replaySection(boolean isTopSection, List<Armwrestler> wrestlers, RoundOutcome roundOutcome) {
+        for (int match = roundOutcome.nextCompleted(0); match >= 0; match = roundOutcome.nextCompleted(match + 1)) {
+            // Byes do not change ratings
+            if (match * 2 + 1 < wrestlers.size()) {
+                onResultRecorded(isTopSection, match, roundOutcome.getWinnerId(match));
+            }
+        }
+    }
+
+    /**
+     * Rate all decided matches of a played round as one rating period
+     */
+    private void rateRound(RoundSnapshot round) {
+        int[] winnerIds;
+        int[] loserIds;
+        int count = 0;
+        List<Armwrestler> top = round.getTopSectionWrestlers();
+        List<Armwrestler> bottom = round.getBottomSectionWrestlers();
+
+        if (round.isFinal() || round.isSuperFinal()) {
+            winnerIds = new int[1];
+            loserIds = new int[1];
+            int winnerId = round.getTopRoundOutcome().getWinnerId(0);
+            if (winnerId != RoundOutcome.NO_WINNER) {
+                boolean topWon = top.get(0).getId() == winnerId;
+                winnerIds[0] = winnerId;
+                loserIds[0] = (topWon ? bottom.get(0) : top.get(0)).getId();
+                count = 1;
+            }
+        } else {
+            int capacity = top.size() / 2 + bottom.size() / 2;
+            winnerIds = new int[capacity];
+            loserIds = new int[capacity];
+            count = collectMatches(top, round.getTopRoundOutcome(), winnerIds, loserIds, count);
+            count = collectMatches(bottom, round.getBottomRoundOutcome(), winnerIds, loserIds, count);
+        }
+
+        if (count >= PARALLEL_MATCH_THRESHOLD) {
+            IntStream.range(0, count).parallel().forEach(i -> rateMatch(winnerIds[i], loserIds[i]));
+        } else {
+            for (int i = 0; i < count; i++) {
+                rateMatch(winnerIds[i], loserIds[i]);
+            }
+        }
+    }
+
+    private int collectMatches(List<Armwrestler> wrestlers, RoundOutcome roundOutcome,
+                               int[] winnerIds, int[] loserIds, int count) {
+        for (int match = roundOutcome.nextCompleted(0); match >= 0; match = roundOutcome.nextCompleted(match + 1)) {
+            int slot = match * 2;
+            if (slot + 1 >= wrestlers.size()) continue;
+            Armwrestler w1 = wrestlers.get(slot);
+            Armwrestler w2 = wrestlers.get(slot + 1);
+            boolean firstWon = roundOutcome.getWinnerId(match) == w1.getId();
+            winnerIds[count] = (firstWon ? w1 : w2).getId();
+            loserIds[count] = (firstWon ? w2 : w1).getId();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Rate a result of the current round, first undoing an earlier result of the same match
+     */
+    private void recordMatch(int key, Armwrestler winner, Armwrestler loser) {
+        MatchUpdate previous = currentRoundUpdates.get(key);
+        if (previous != null) {
+            ratings[previous.winnerId] = previous.winnerRating;
+            deviations[previous.winnerId] = previous.winnerDeviation;
+            matchCounts[previous.winnerId]--;
+            ratings[previous.loserId] = previous.loserRating;
+            deviations[previous.loserId] = previous.loserDeviation;
+            matchCounts[previous.loserId]--;
+        }
+        int winnerId = ensureRated(winner);
+        int loserId = ensureRated(loser);
+        currentRoundUpdates.put(key, new MatchUpdate(this, winnerId, loserId));
+        rateMatch(winnerId, loserId);
+    }
+
+    /**
+     * Glicko-1 update of both wrestlers for a single game, each against the other's pre-match rating
+     */
+    private void rateMatch(int winnerId, int loserId) {
+        double winnerRating = ratings[winnerId];
+        double winnerDeviation = deviations[winnerId];
+        double loserRating = ratings[loserId];
+        double loserDeviation = deviations[loserId];
+        rate(winnerId, winnerRating, winnerDeviation, loserRating, loserDeviation, 1);
+        rate(loserId, loserRating, loserDeviation, winnerRating, winnerDeviation, 0);
+        matchCounts[winnerId]++;
+        matchCounts[loserId]++;
+    }
+
+    private void rate(int id, double rating, double deviation, double opponentRating, double opponentDeviation, double score) {
+        double g = 1 / Math.sqrt(1 + 3 * Q * Q * opponentDeviation * opponentDeviation / (Math.PI * Math.PI));
+        double expected = 1 / (1 + Math.pow(10, -g * (rating - opponentRating) / 400));
+        double precision = 1 / (deviation * deviation) + Q * Q * g * g * expected * (1 - expected);
+        ratings[id] = rating + Q / precision * g * (score - expected);
+        deviations[id] = Math.max(Math.sqrt(1 / precision), MIN_DEVIATION);
+    }
+
+    private void growDeviation(int id) {
+        double deviation = deviations[id];
+        deviations[id] = Math.min(Math.sqrt(deviation * deviation
+                + DEVIATION_GROWTH_PER_TOURNAMENT * DEVIATION_GROWTH_PER_TOURNAMENT), INITIAL_DEVIATION);
+    }
+
+    private void forgetRatings(List<Armwrestler> wrestlers, BitSet forgotten) {
+        for (Armwrestler w : wrestlers) {
+            if (forgotten.get(w.getId())) continue;
+            forgotten.set(w.getId());
+            ensureCapacity(w.getId() + 1);
+            deviations[w.getId()] = 0;
+            String key = nameKey(w.getName(), w.getSurname());
+            ratedByName.remove(key);
+            storedRatings.remove(key);
+        }
+    }
+
+    /**
+     * Give a wrestler a rating slot, taken over from the same player's latest or stored rating
+     *
+     * @return Wrestler ID
+     */
+    private int ensureRated(Armwrestler wrestler) {
+        int id = wrestler.getId();
+        ensureCapacity(id + 1);
+        if (deviations[id] > 0) return id;
+
+        String key = nameKey(wrestler.getName(), wrestler.getSurname());
+        Armwrestler previous = ratedByName.get(key);
+        RatingRecord stored = storedRatings.get(key);
+        if (previous != null) {
+            ratings[id] = ratings[previous.getId()];
+            deviations[id] = deviations[previous.getId()];
+            matchCounts[id] = matchCounts[previous.getId()];
+        } else if (stored != null) {
+            ratings[id] = stored.getRating();
+            deviations[id] = Math.max(Math.min(stored.getDeviation(), INITIAL_DEVIATION), MIN_DEVIATION);
+            matchCounts[id] = stored.getMatches();
+        } else {
+            ratings[id] = INITIAL_RATING;
+            deviations[id] = INITIAL_DEVIATION;
+            matchCounts[id] = 0;
+        }
+        ratedByName.put(key, wrestler);
+        return id;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size <= ratings.length) return;
+        int capacity = Math.max(size, ratings.length * 2);
+        ratings = Arrays.copyOf(ratings, capacity);
+        deviations = Arrays.copyOf(deviations, capacity);
+        matchCounts = Arrays.copyOf(matchCounts, capacity);
+    }
+
+    private static int matchKey(boolean isTopSection, int matchIndex) {
+        return matchIndex * 2 + (isTopSection ? 1 : 0);
+    }
+
+    private static String nameKey(String name, String surname) {
+        return (name + " " + surname).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,373 @@
+package com.objectedge.artem.ai.poc.engine;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
+import com.objectedge.artem.ai.poc.models.RoundSnapshot;
+import com.objectedge.artem.ai.poc.models.TournamentState;
+import java.util.*;
+
+/**
+ * Event-sourced history of a tournament: every result, final result and round advance
+ * applied to the engine since the bracket was created, in order.
+ *
+ * The bracket state is a pure function of this log, so results can be undone, redone and
+ * amended in any past round: the engine is rewound to the nearest in-memory checkpoint
+ * before the affected event and the log is replayed from there. Checkpoints are taken at
+ * every round advance and every {@link #CHECKPOINT_INTERVAL} events, which bounds a replay
+ * to roughly one round instead of the whole tournament.
+ *
+ * Amending a result re-derives every later round. Every result event remembers both
+ * wrestlers of its match; later results whose two wrestlers are no longer paired in the
+ * re-derived round are dropped, and replay stops at the first round that can no longer be
+ * advanced; those matches have to be entered again. Results that are already in effect
+ * (e.g. a correction within a round amended back to the original winner) are skipped.
+ */
+public class ResultHistory implements TournamentEngine.EngineListener {
+    private static final int CHECKPOINT_INTERVAL = 256;
+
+    private static final byte TYPE_RESULT = 1;
+    private static final byte TYPE_FINAL_RESULT = 2;
+    private static final byte TYPE_ROUND_ADVANCE = 3;
+
+    private final TournamentEngine engine;
+
+    // Event log in primitive columns; events [0, cursor) are applied, [cursor, size) can be redone
+    private byte[] types = new byte[64];
+    private boolean[] topSections = new boolean[64];
+    private int[] matchIndices = new int[64];
+    private int[] winnerIds = new int[64];
+    private int[] loserIds = new int[64];
+    private int[] rounds = new int[64];
+    private int size;
+    private int cursor;
+
+    // Checkpoint i holds the engine state after the first checkpointEvents[i] events
+    private int[] checkpointEvents = new int[16];
+    private List<TournamentEngine.Checkpoint> checkpoints = new ArrayList<>();
+
+    private boolean replaying;
+
+    public ResultHistory(TournamentEngine engine) {
+        this.engine = engine;
+        engine.addEngineListener(this);
+        if (!engine.getState().getAllParticipants().isEmpty()) {
+            addCheckpoint(0);
+        }
+    }
+
+    public boolean canUndo() {
+        return cursor > 0 && !checkpoints.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Undo the last result or round advance
+     *
+     * @return true if something was undone
+     */
+    public boolean undo() {
+        if (!canUndo()) return false;
+
+        int target = cursor - 1;
+        int from = rewindTo(target);
+        replaying = true;
+        try {
+            for (int i = from; i < target; i++) {
+                apply(i);
+                checkpointIfDue(i + 1);
+            }
+        } finally {
+            replaying = false;
+        }
+        cursor = target;
+        return true;
+    }
+
+    /**
+     * Re-apply the last undone result or round advance
+     *
+     * @return true if something was redone
+     */
+    public boolean redo() {
+        if (!canRedo()) return false;
+
+        replaying = true;
+        try {
+            if (!apply(cursor)) {
+                // The redo tail no longer fits; forget it
+                size = cursor;
+                return false;
+            }
+        } finally {
+            replaying = false;
+        }
+        cursor++;
+        checkpointIfDue(cursor);
+        return true;
+    }
+
+    /**
+     * Change the winner of a regular match in the current or any past round
+     *
+     * @param round Round number as counted by the round tabs (1 = first round)
+     * @return Number of later events dropped because they no longer fit, or -1 if the match is unknown
+     *         or already has that winner
+     */
+    public int amendResult(int round, boolean isTopSection, int matchIndex, int winnerId) {
+        int event = findLastEvent(TYPE_RESULT, round, isTopSection, matchIndex);
+        if (event < 0 || winnerIds[event] == winnerId) return -1;
+
+        List<Armwrestler> section = getSection(round, isTopSection);
+        int slot = matchIndex * 2;
+        if (section == null || slot + 1 >= section.size()) return -1;
+        int firstId = section.get(slot).getId();
+        int secondId = section.get(slot + 1).getId();
+        if (firstId != winnerId && secondId != winnerId) return -1;
+
+        return amend(event, winnerId, winnerId == firstId ? secondId : firstId);
+    }
+
+    /**
+     * Change the winner of the final or super-final played in the given round
+     *
+     * @return Number of later events dropped, or -1 if there is no such final or it already has that winner
+     */
+    public int amendFinalResult(int round, int winnerId) {
+        int event = findLastEvent(TYPE_FINAL_RESULT, round, true, 0);
+        if (event < 0 || winnerIds[event] == winnerId) return -1;
+
+        List<Armwrestler> top = getSection(round, true);
+        List<Armwrestler> bottom = getSection(round, false);
+        if (top.isEmpty() || bottom.isEmpty()) return -1;
+        int topId = top.get(0).getId();
+        int bottomId = bottom.get(0).getId();
+        if (topId != winnerId && bottomId != winnerId) return -1;
+
+        return amend(event, winnerId, winnerId == topId ? bottomId : topId);
+    }
+
+    private int amend(int event, int winnerId, int loserId) {
+        winnerIds[event] = winnerId;
+        loserIds[event] = loserId;
+        // The redo tail belongs to the old timeline
+        size = cursor;
+
+        int from = rewindTo(event);
+        int write = from;
+        int dropped = 0;
+        boolean stopped = false;
+
+        replaying = true;
+        try {
+            for (int read = from; read < size; read++) {
+                if (!stopped && isInEffect(read)) {
+                    // Nothing to replay and nothing the user has to enter again
+                    continue;
+                }
+                if (stopped || !apply(read)) {
+                    // A round that cannot be advanced invalidates everything after it
+                    if (types[read] == TYPE_ROUND_ADVANCE) stopped = true;
+                    dropped++;
+                    continue;
+                }
+                moveEvent(read, write);
+                rounds[write] = currentRoundNumber() - (types[write] == TYPE_ROUND_ADVANCE ? 1 : 0);
+                write++;
+                checkpointIfDue(write);
+            }
+        } finally {
+            replaying = false;
+        }
+        size = write;
+        cursor = write;
+        return dropped;
+    }
+
+    /**
+     * Restore the latest checkpoint taken at or before the given event and forget later ones
+     *
+     * @return Index of the first event that has to be replayed
+     */
+    private int rewindTo(int event) {
+        int index = checkpoints.size() - 1;
+        while (index > 0 && checkpointEvents[index] > event) {
+            index--;
+        }
+        checkpoints.subList(index + 1, checkpoints.size()).clear();
+        engine.restoreCheckpoint(checkpoints.get(index));
+        return checkpointEvents[index];
+    }
+
+    /**
+     * Apply an event to the engine; a result only if the same two wrestlers are still paired
+     *
+     * @return true if the engine changed
+     */
+    private boolean apply(int event) {
+        switch (types[event]) {
+            case TYPE_RESULT:
+                return isPaired(event)
+                        && engine.recordResult(topSections[event], matchIndices[event], winnerIds[event]);
+            case TYPE_FINAL_RESULT:
+                return isPaired(event) && engine.recordFinalResult(winnerIds[event]);
+            default:
+                return !engine.isComplete() && engine.advanceRound() != TournamentEngine.RoundAdvance.INCOMPLETE;
+        }
+    }
+
+    /**
+     * @return true if the event is a result that the engine already has for the same pair
+     */
+    private boolean isInEffect(int event) {
+        if (types[event] == TYPE_ROUND_ADVANCE || !isPaired(event)) return false;
+        TournamentState state = engine.getState();
+        RoundOutcome roundOutcome = topSections[event] ? state.getTopRoundOutcome() : state.getBottomRoundOutcome();
+        return roundOutcome.getWinnerId(matchIndices[event]) == winnerIds[event];
+    }
+
+    /**
+     * @return true if the winner and loser of a result event meet in that match of the current round
+     */
+    private boolean isPaired(int event) {
+        TournamentState state = engine.getState();
+        int firstId;
+        int secondId;
+        if (types[event] == TYPE_FINAL_RESULT) {
+            if (!(state.isFinal() || state.isSuperFinal())) return false;
+            if (state.getTopSectionWrestlers().isEmpty() || state.getBottomSectionWrestlers().isEmpty()) return false;
+            firstId = state.getTopSectionWrestlers().get(0).getId();
+            secondId = state.getBottomSectionWrestlers().get(0).getId();
+        } else {
+            if (state.isFinal() || state.isSuperFinal()) return false;
+            List<Armwrestler> section = topSections[event] ? state.getTopSectionWrestlers() : state.getBottomSectionWrestlers();
+            int slot = matchIndices[event] * 2;
+            if (slot + 1 >= section.size()) return false;
+            firstId = section.get(slot).getId();
+            secondId = section.get(slot + 1).getId();
+        }
+        int winnerId = winnerIds[event];
+        int loserId = loserIds[event];
+        return (firstId == winnerId && secondId == loserId) || (firstId == loserId && secondId == winnerId);
+    }
+
+    /**
+     * @return The other wrestler of the match the engine just recorded a result for
+     */
+    private int findLoserId(byte type, boolean isTopSection, int matchIndex, int winnerId) {
+        TournamentState state = engine.getState();
+        int firstId;
+        int secondId;
+        if (type == TYPE_FINAL_RESULT) {
+            firstId = state.getTopSectionWrestlers().get(0).getId();
+            secondId = state.getBottomSectionWrestlers().get(0).getId();
+        } else {
+            List<Armwrestler> section = isTopSection ? state.getTopSectionWrestlers() : state.getBottomSectionWrestlers();
+            firstId = section.get(matchIndex * 2).getId();
+            secondId = section.get(matchIndex * 2 + 1).getId();
+        }
+        return winnerId == firstId ? secondId : firstId;
+    }
+
+    private void checkpointIfDue(int eventCount) {
+        int last = checkpoints.size() - 1;
+        if (last >= 0 && checkpointEvents[last] >= eventCount) return;
+
+        boolean roundBoundary = types[eventCount - 1] == TYPE_ROUND_ADVANCE;
+        if (roundBoundary || last < 0 || eventCount - checkpointEvents[last] >= CHECKPOINT_INTERVAL) {
+            addCheckpoint(eventCount);
+        }
+    }
+
+    private void addCheckpoint(int eventCount) {
+        if (checkpoints.size() == checkpointEvents.length) {
+            checkpointEvents = Arrays.copyOf(checkpointEvents, checkpointEvents.length * 2);
+        }
+        checkpointEvents[checkpoints.size()] = eventCount;
+        checkpoints.add(engine.createCheckpoint());
+    }
+
+    private int findLastEvent(byte type, int round, boolean isTopSection, int matchIndex) {
+        for (int i = cursor - 1; i >= 0; i--) {
+            if (types[i] == type && rounds[i] == round && topSections[i] == isTopSection && matchIndices[i] == matchIndex) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Section list of a past round from its snapshot, or of the current round from the live state
+     */
+    private List<Armwrestler> getSection(int round, boolean isTopSection) {
+        RoundSnapshot snapshot = engine.getRoundSnapshot(round);
+        if (snapshot != null) {
+            return isTopSection ? snapshot.getTopSectionWrestlers() : snapshot.getBottomSectionWrestlers();
+        }
+        TournamentState state = engine.getState();
+        return isTopSection ? state.getTopSectionWrestlers() : state.getBottomSectionWrestlers();
+    }
+
+    private int currentRoundNumber() {
+        return engine.getRoundHistory().size() + 1;
+    }
+
+    private void record(byte type, boolean isTopSection, int matchIndex, int winnerId) {
+        if (replaying) return;
+
+        // A new result starts a new timeline; the undone events can no longer be redone
+        size = cursor;
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            topSections = Arrays.copyOf(topSections, capacity);
+            matchIndices = Arrays.copyOf(matchIndices, capacity);
+            winnerIds = Arrays.copyOf(winnerIds, capacity);
+            loserIds = Arrays.copyOf(loserIds, capacity);
+            rounds = Arrays.copyOf(rounds, capacity);
+        }
+        types[size] = type;
+        topSections[size] = isTopSection;
+        matchIndices[size] = matchIndex;
+        winnerIds[size] = winnerId;
+        loserIds[size] = type == TYPE_ROUND_ADVANCE ? 0 : findLoserId(type, isTopSection, matchIndex, winnerId);
+        rounds[size] = currentRoundNumber() - (type == TYPE_ROUND_ADVANCE ? 1 : 0);
+        size++;
+        cursor = size;
+        checkpointIfDue(cursor);
+    }
+
+    private void moveEvent(int from, int to) {
+        if (from == to) return;
+        types[to] = types[from];
+        topSections[to] = topSections[from];
+        matchIndices[to] = matchIndices[from];
+        winnerIds[to] = winnerIds[from];
+        loserIds[to] = loserIds[from];
+    }
+
+    @Override
+    public void onBracketCreated(TournamentState state) {
+        size = 0;
+        cursor = 0;
+        checkpoints.clear();
+        addCheckpoint(0);
+    }
+
+    @Override
+    public void onResultRecorded(boolean isTopSection, int matchIndex, int winnerId) {
+        record(TYPE_RESULT, isTopSection, matchIndex, winnerId);
+    }
+
+    @Override
+    public void onFinalResultRecorded(int winnerId) {
+        record(TYPE_FINAL_RESULT, true, 0, winnerId);
+    }
+
+    @Override
+    public void onRoundAdvanced(TournamentEngine.RoundAdvance advance) {
+        record(TYPE_ROUND_ADVANCE, false, 0, 0);
+    }
+}
@@ -0,0 +1,428 @@
+package com.objectedge.artem.ai.poc.engine;
+
+import com.objectedge.artem.ai.poc.helpers.TournamentSnapshotCodec;
+import com.objectedge.artem.ai.poc.models.RoundSnapshot;
+import com.objectedge.artem.ai.poc.models.TournamentState;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal of tournament results for crash recovery.
+ *
+ * A snapshot of the bracket is written when it is created; every recorded result, final
+ * result and round advance after that is appended to the journal as a fixed-size,
+ * checksummed record. Appends never touch the disk on the caller's thread: a background
+ * writer drains all pending records with one write and one fsync (group commit), so
+ * results entered while a sync is in progress are committed together with the next one.
+ *
+ * On startup {@link #recover()} loads the snapshot and replays the journal through a
+ * {@link TournamentEngine}, which restores the exact TournamentState and round history.
+ * Snapshots include the round history, so a snapshot rewritten after an undo or an amended
+ * result still holds every played round; the journal therefore has to be attached to its
+ * engine with {@link #attach(TournamentEngine)}.
+ * The journal header stores the checksum of the snapshot it extends, so a journal left
+ * over from an older snapshot is ignored, and a torn record at the tail is cut off.
+ *
+ * The first write, sync or snapshot error stops the journal: a partially written batch is cut
+ * off so that nothing is appended behind torn bytes, later records are discarded, and the
+ * {@link FailureListener} is told right away so the operator knows results are no longer saved.
+ *
+ * Only an unfinished tournament is recovered. The snapshot and journal of a finished
+ * tournament, and those of the previous tournament when a new bracket is created, are moved
+ * to the {@value #ARCHIVE_DIRECTORY} subdirectory instead of being resumed or overwritten.
+ */
+public class ResultJournal implements TournamentEngine.EngineListener, Closeable {
+    private static final String SNAPSHOT_FILE = "tournament.snapshot";
+    private static final String JOURNAL_FILE = "tournament.journal";
+    private static final String ARCHIVE_DIRECTORY = "archive";
+    private static final DateTimeFormatter ARCHIVE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final byte[] MAGIC = {'A', 'R', 'M', 'J'};
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = MAGIC.length + 1 + 4;
+
+    // type (1) + section (1) + matchIndex (4) + winnerId (4) + CRC32 (4)
+    private static final int RECORD_SIZE = 14;
+    private static final int RECORD_BODY_SIZE = RECORD_SIZE - 4;
+    private static final byte TYPE_RESULT = 1;
+    private static final byte TYPE_FINAL_RESULT = 2;
+    private static final byte TYPE_ROUND_ADVANCE = 3;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path archiveDirectory;
+    private final Object lock = new Object();
+    private final CRC32 crc = new CRC32();
+    private final Thread writer;
+    private TournamentEngine engine;
+    private volatile FailureListener failureListener;
+
+    // Guarded by lock
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(64 * RECORD_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(64 * RECORD_SIZE);
+    private long appendedCount;
+    private long durableCount;
+    private long durableOffset;
+    private IOException failure;
+    private boolean closed;
+
+    /**
+     * Receives the error that stopped the journal; called once, on the thread that hit it
+     */
+    public interface FailureListener {
+        void onJournalFailed(IOException error);
+    }
+
+    public ResultJournal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.archiveDirectory = directory.resolve(ARCHIVE_DIRECTORY);
+        this.writer = new Thread(this::writeLoop, "result-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Rebuild the tournament from the latest snapshot and the journal, and start appending to it
+     *
+     * @return The recovered engine, or null if there is no unfinished tournament to recover
+     * @throws IOException If the snapshot or journal cannot be read
+     */
+    public TournamentEngine recover() throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return null;
+        }
+
+        byte[] snapshot = Files.readAllBytes(snapshotFile);
+        TournamentSnapshotCodec.Snapshot decoded = TournamentSnapshotCodec.decodeSnapshot(snapshot);
+        TournamentEngine engine = new TournamentEngine(decoded.getState(), decoded.getRoundHistory());
+        int snapshotChecksum = checksum(snapshot, 0, snapshot.length);
+
+        long validLength = Files.exists(journalFile) ? replay(engine, snapshotChecksum) : -1;
+        if (engine.isComplete()) {
+            archive();
+            return null;
+        }
+        synchronized (lock) {
+            if (validLength < 0) {
+                startJournal(snapshotChecksum);
+            } else {
+                channel = FileChannel.open(journalFile, StandardOpenOption.WRITE);
+                // Drop a torn record left by a crash in the middle of a write
+                channel.truncate(validLength);
+                channel.position(validLength);
+                durableOffset = validLength;
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Apply all intact journal records to the engine
+     *
+     * @return Length of the intact part of the journal, or -1 if the journal does not belong to the snapshot
+     */
+    private long replay(TournamentEngine engine, int snapshotChecksum) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(journalFile));
+        if (data.remaining() < HEADER_SIZE) return -1;
+        for (byte b : MAGIC) {
+            if (data.get() != b) return -1;
+        }
+        if (data.get() != VERSION || data.getInt() != snapshotChecksum) return -1;
+
+        while (data.remaining() >= RECORD_SIZE) {
+            int start = data.position();
+            if (checksum(data.array(), start, RECORD_BODY_SIZE) != data.getInt(start + RECORD_BODY_SIZE)) break;
+
+            byte type = data.get();
+            boolean isTopSection = data.get() != 0;
+            int matchIndex = data.getInt();
+            int winnerId = data.getInt();
+            data.getInt();
+
+            switch (type) {
+                case TYPE_RESULT:
+                    engine.recordResult(isTopSection, matchIndex, winnerId);
+                    break;
+                case TYPE_FINAL_RESULT:
+                    engine.recordFinalResult(winnerId);
+                    break;
+                case TYPE_ROUND_ADVANCE:
+                    engine.advanceRound();
+                    break;
+                default:
+                    throw new IOException("Corrupt journal: unknown record type " + type);
+            }
+        }
+        return data.position();
+    }
+
+    public void setFailureListener(FailureListener failureListener) {
+        this.failureListener = failureListener;
+    }
+
+    /**
+     * Journal every change of the engine from now on
+     */
+    public void attach(TournamentEngine engine) {
+        this.engine = engine;
+        engine.addEngineListener(this);
+    }
+
+    /**
+     * Write a new snapshot of the attached engine's state and round history
+     * and start an empty journal on top of it
+     */
+    public void checkpoint(TournamentState state) throws IOException {
+        List<RoundSnapshot> roundHistory = engine != null ? engine.getRoundHistory() : Collections.emptyList();
+        byte[] snapshot = TournamentSnapshotCodec.encode(state, roundHistory);
+        flush();
+        synchronized (lock) {
+            TournamentSnapshotCodec.save(snapshot, snapshotFile);
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            startJournal(checksum(snapshot, 0, snapshot.length));
+        }
+    }
+
+    /**
+     * Move the snapshot and journal of the last tournament to the archive directory
+     */
+    private void archive() throws IOException {
+        flush();
+        synchronized (lock) {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            if (!Files.exists(snapshotFile)) return;
+
+            Files.createDirectories(archiveDirectory);
+            String baseName = "tournament-" + LocalDateTime.now().format(ARCHIVE_NAME_FORMAT);
+            String name = baseName;
+            for (int i = 2; Files.exists(archiveDirectory.resolve(name + ".snapshot")); i++) {
+                name = baseName + "-" + i;
+            }
+            Files.move(snapshotFile, archiveDirectory.resolve(name + ".snapshot"));
+            if (Files.exists(journalFile)) {
+                Files.move(journalFile, archiveDirectory.resolve(name + ".journal"));
+            }
+        }
+    }
+
+    private void startJournal(int snapshotChecksum) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).put((byte) VERSION).putInt(snapshotChecksum).flip();
+
+        Path tempFile = Files.createTempFile(journalFile.getParent(), JOURNAL_FILE, ".tmp");
+        try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+            out.write(header);
+            out.force(false);
+        }
+        Files.move(tempFile, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        durableOffset = HEADER_SIZE;
+    }
+
+    @Override
+    public void onBracketCreated(TournamentState state) {
+        try {
+            archive();
+            checkpoint(state);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * The engine was rewound (undo or amended result); start over from a snapshot of the rewound state
+     */
+    @Override
+    public void onStateRestored(TournamentState state) {
+        try {
+            checkpoint(state);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onResultRecorded(boolean isTopSection, int matchIndex, int winnerId) {
+        append(TYPE_RESULT, isTopSection, matchIndex, winnerId);
+    }
+
+    @Override
+    public void onFinalResultRecorded(int winnerId) {
+        append(TYPE_FINAL_RESULT, true, 0, winnerId);
+    }
+
+    @Override
+    public void onRoundAdvanced(TournamentEngine.RoundAdvance advance) {
+        append(TYPE_ROUND_ADVANCE, false, 0, 0);
+    }
+
+    /**
+     * Queue a record for the next group commit; never blocks on disk I/O
+     */
+    private void append(byte type, boolean isTopSection, int matchIndex, int winnerId) {
+        synchronized (lock) {
+            if (closed || channel == null || failure != null) return;
+            if (pending.remaining() < RECORD_SIZE) {
+                ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                pending = larger.put(pending);
+            }
+            int start = pending.position();
+            pending.put(type).put((byte) (isTopSection ? 1 : 0)).putInt(matchIndex).putInt(winnerId);
+            pending.putInt(checksum(pending.array(), start, RECORD_BODY_SIZE));
+            appendedCount++;
+            lock.notifyAll();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer batch;
+            FileChannel target;
+            long batchCount;
+            long batchStart;
+            synchronized (lock) {
+                while (pending.position() == 0 && !closed) {
+                    waitOnLock();
+                }
+                if (pending.position() == 0) return;
+
+                batch = pending;
+                pending = spare;
+                batchCount = appendedCount;
+                target = channel;
+                batchStart = durableOffset;
+            }
+
+            IOException error = null;
+            batch.flip();
+            int batchSize = batch.remaining();
+            try {
+                while (batch.hasRemaining()) {
+                    target.write(batch);
+                }
+                target.force(false);
+            } catch (IOException e) {
+                error = e;
+                truncate(target, batchStart, error);
+            }
+
+            synchronized (lock) {
+                batch.clear();
+                spare = batch;
+                if (error == null) {
+                    durableCount = batchCount;
+                    durableOffset = batchStart + batchSize;
+                }
+                lock.notifyAll();
+            }
+            if (error != null) {
+                fail(error);
+            }
+        }
+    }
+
+    /**
+     * Cut a partially written batch off the journal, so recovery stops exactly at the last durable record
+     */
+    private static void truncate(FileChannel target, long durableOffset, IOException error) {
+        try {
+            target.truncate(durableOffset);
+            target.force(false);
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Block until every record appended so far has been synced to disk
+     *
+     * @throws IOException If a write or sync failed
+     */
+    public void flush() throws IOException {
+        synchronized (lock) {
+            while (durableCount < appendedCount && failure == null) {
+                waitOnLock();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Flush outstanding records and close the journal
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            synchronized (lock) {
+                closed = true;
+                lock.notifyAll();
+            }
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (lock) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop journaling after the first error and report it
+     */
+    private void fail(IOException e) {
+        synchronized (lock) {
+            if (failure != null) return;
+            failure = e;
+            pending.clear();
+            lock.notifyAll();
+        }
+        FailureListener listener = failureListener;
+        if (listener != null) {
+            listener.onJournalFailed(e);
+        }
+    }
+
+    private void waitOnLock() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the result journal", e);
+        }
+    }
+
+    private int checksum(byte[] bytes, int offset, int length) {
+        synchronized (crc) {
+            crc.reset();
+            crc.update(bytes, offset, length);
+            return (int) crc.getValue();
+        }
+    }
+}
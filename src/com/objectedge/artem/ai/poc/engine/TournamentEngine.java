@@ -0,0 +1,512 @@
+package com.objectedge.artem.ai.poc.engine;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
+import com.objectedge.artem.ai.poc.models.RoundSnapshot;
+import com.objectedge.artem.ai.poc.models.TournamentState;
+import java.util.*;
+
+/**
+ * Headless double-elimination tournament engine.
+ * Owns all bracket rules (result entry, bye credits, round advancement, semifinal,
+ * final and super-final handling) and has no Swing/AWT dependencies, so it can be
+ * driven by the desktop forms, server-side processes or batch tools alike.
+ */
+public class TournamentEngine {
+    private TournamentState state;
+    private Armwrestler champion;
+    private List<RoundSnapshot> roundHistory = new ArrayList<>();
+    private List<EngineListener> listeners = new ArrayList<>();
+
+    // Records the participants had before any result in the round history, see Checkpoint
+    private int[] baseWins;
+    private int[] baseLosses;
+
+    /**
+     * Result of an attempt to advance the tournament
+     */
+    public enum RoundAdvance {
+        INCOMPLETE,
+        NEXT_ROUND,
+        SUPER_FINAL,
+        COMPLETE
+    }
+
+    /**
+     * Listener notified after every change the engine applies (e.g. for journaling)
+     */
+    public interface EngineListener {
+        default void onBracketCreated(TournamentState state) { }
+        default void onResultRecorded(boolean isTopSection, int matchIndex, int winnerId) { }
+        default void onFinalResultRecorded(int winnerId) { }
+        default void onRoundAdvanced(RoundAdvance advance) { }
+        default void onStateRestored(TournamentState state) { }
+    }
+
+    /**
+     * Opaque in-memory copy of the engine state, used to rewind the tournament.
+     * Holds only a round snapshot, which shares its pairings and unchanged outcomes with the
+     * other snapshots of the round, and the length of the round history. Win/loss records are
+     * not copied: they are re-derived on restore from the engine's base records and the
+     * outcomes of the history and the snapshot, so restoring keeps every Armwrestler instance
+     * (and anything referencing it) valid and a checkpoint costs little more than its outcomes.
+     */
+    public static class Checkpoint {
+        private final RoundSnapshot round;
+        private final Armwrestler champion;
+        private final int historySize;
+
+        private Checkpoint(TournamentEngine engine) {
+            this.round = RoundSnapshot.capture(engine.state);
+            this.champion = engine.champion;
+            this.historySize = engine.roundHistory.size();
+        }
+    }
+
+    public TournamentEngine() {
+        this(new TournamentState());
+    }
+
+    public TournamentEngine(TournamentState state) {
+        this.state = state;
+    }
+
+    /**
+     * Resume a tournament whose earlier rounds were played elsewhere, e.g. decoded from a snapshot
+     *
+     * @param roundHistory Snapshots of the rounds played before the current state, oldest first
+     */
+    public TournamentEngine(TournamentState state, List<RoundSnapshot> roundHistory) {
+        this.state = state;
+        this.roundHistory.addAll(roundHistory);
+    }
+
+    public void addEngineListener(EngineListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeEngineListener(EngineListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Checkpoint createCheckpoint() {
+        Checkpoint checkpoint = new Checkpoint(this);
+        if (baseWins == null) {
+            captureBaseRecords(checkpoint.round);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Rewind the tournament to a checkpoint taken earlier in the same bracket
+     */
+    public void restoreCheckpoint(Checkpoint checkpoint) {
+        champion = checkpoint.champion;
+        roundHistory.subList(checkpoint.historySize, roundHistory.size()).clear();
+        state.restoreRound(checkpoint.round);
+
+        List<Armwrestler> participants = state.getAllParticipants();
+        for (int i = 0; i < participants.size(); i++) {
+            participants.get(i).setRecord(baseWins[i], baseLosses[i]);
+        }
+        for (RoundSnapshot round : roundHistory) {
+            creditRecords(round);
+        }
+        creditRecords(checkpoint.round);
+
+        for (EngineListener listener : listeners) {
+            listener.onStateRestored(state);
+        }
+    }
+
+    public TournamentState getState() {
+        return state;
+    }
+
+    public Armwrestler getChampion() {
+        return champion;
+    }
+
+    public boolean isComplete() {
+        return champion != null;
+    }
+
+    /**
+     * @return Snapshots of all completed rounds, oldest first
+     */
+    public List<RoundSnapshot> getRoundHistory() {
+        return Collections.unmodifiableList(roundHistory);
+    }
+
+    /**
+     * @return Snapshot of a completed round, or null if the round was not completed yet
+     */
+    public RoundSnapshot getRoundSnapshot(int roundNumber) {
+        int index = roundNumber - 1;
+        return (index >= 0 && index < roundHistory.size()) ? roundHistory.get(index) : null;
+    }
+
+    /**
+     * Create a new bracket: all wrestlers start in the top section of round 1.
+     * Wrestlers left without a pair are credited with a bye win immediately.
+     *
+     * @param wrestlers Participants in draw order
+     */
+    public void createBracket(List<Armwrestler> wrestlers) {
+        state.setAllParticipants(new ArrayList<>(wrestlers));
+        state.initializeRound(wrestlers);
+        champion = null;
+        roundHistory.clear();
+        baseWins = null;
+        baseLosses = null;
+        creditByes();
+        for (EngineListener listener : listeners) {
+            listener.onBracketCreated(state);
+        }
+    }
+
+    /**
+     * Record (or correct) the winner of a regular match.
+     * Selecting the other wrestler of an already decided match moves the win and loss.
+     * Results are rejected once the tournament is complete.
+     *
+     * @param isTopSection Whether the match belongs to the top section
+     * @param matchIndex Index of the pair within its section
+     * @param winnerId ID of the winning wrestler
+     * @return true if the outcome changed
+     */
+    public boolean recordResult(boolean isTopSection, int matchIndex, int winnerId) {
+        if (isComplete()) return false;
+
+        List<Armwrestler> wrestlers = isTopSection ? state.getTopSectionWrestlers() : state.getBottomSectionWrestlers();
+        RoundOutcome roundOutcome = isTopSection ? state.getTopRoundOutcome() : state.getBottomRoundOutcome();
+
+        int winnerSlot = state.getSectionSlot(isTopSection, winnerId);
+        if (winnerSlot < 0 || winnerSlot / 2 != matchIndex) return false;
+
+        int loserSlot = winnerSlot ^ 1;
+        if (loserSlot >= wrestlers.size()) return false;
+
+        Armwrestler w1 = wrestlers.get(matchIndex * 2);
+        Armwrestler w2 = wrestlers.get(matchIndex * 2 + 1);
+        if (!applyOutcome(roundOutcome, matchIndex, w1, w2, winnerId)) return false;
+
+        for (EngineListener listener : listeners) {
+            listener.onResultRecorded(isTopSection, matchIndex, winnerId);
+        }
+        return true;
+    }
+
+    /**
+     * Record (or correct) the winner of the final or super-final match
+     *
+     * @param winnerId ID of the winning wrestler
+     * @return true if the outcome changed
+     */
+    public boolean recordFinalResult(int winnerId) {
+        if (isComplete()) return false;
+        if (state.getTopSectionWrestlers().isEmpty() || state.getBottomSectionWrestlers().isEmpty()) return false;
+
+        Armwrestler topChamp = state.getTopSectionWrestlers().get(0);
+        Armwrestler bottomChamp = state.getBottomSectionWrestlers().get(0);
+        if (topChamp.getId() != winnerId && bottomChamp.getId() != winnerId) return false;
+
+        if (!applyOutcome(state.getTopRoundOutcome(), 0, topChamp, bottomChamp, winnerId)) return false;
+
+        for (EngineListener listener : listeners) {
+            listener.onFinalResultRecorded(winnerId);
+        }
+        return true;
+    }
+
+    private boolean applyOutcome(RoundOutcome roundOutcome, int matchIndex,
+                                 Armwrestler w1, Armwrestler w2, int winnerId) {
+        int prevWinnerId = roundOutcome.getWinnerId(matchIndex);
+        if (prevWinnerId == winnerId) return false;
+
+        if (prevWinnerId != RoundOutcome.NO_WINNER) {
+            Armwrestler prevWinner = (prevWinnerId == w1.getId()) ? w1 : w2;
+            Armwrestler prevLoser = (prevWinner == w1) ? w2 : w1;
+            prevWinner.decrementWins();
+            prevLoser.decrementLosses();
+        }
+
+        Armwrestler winner = (winnerId == w1.getId()) ? w1 : w2;
+        Armwrestler loser = (winner == w1) ? w2 : w1;
+        winner.incrementWins();
+        loser.incrementLosses();
+        roundOutcome.setWinner(matchIndex, winnerId);
+        return true;
+    }
+
+    /**
+     * Check whether every match of the current stage has a winner
+     */
+    public boolean isRoundComplete() {
+        if (state.isSemifinal()) {
+            int bottomPairsCount = (int) Math.ceil(state.getBottomSectionWrestlers().size() / 2.0);
+            int outcomes = state.getBottomRoundOutcome().size();
+            return outcomes >= bottomPairsCount;
+        } else if (state.isFinal() || state.isSuperFinal()) {
+            return state.getTopRoundOutcome().hasWinner(0);
+        } else {
+            List<Armwrestler> topWrestlers = state.getTopSectionWrestlers();
+            List<Armwrestler> bottomWrestlers = state.getBottomSectionWrestlers();
+
+            int topPairsCount = (int) Math.ceil(topWrestlers.size() / 2.0);
+            int bottomPairsCount = bottomWrestlers.isEmpty() ? 0 : (int) Math.ceil(bottomWrestlers.size() / 2.0);
+
+            int topOutcomes = state.getTopRoundOutcome().size();
+            int bottomOutcomes = state.getBottomRoundOutcome().size();
+
+            boolean topComplete = topOutcomes >= topPairsCount;
+            boolean bottomComplete = bottomWrestlers.isEmpty() || bottomOutcomes >= bottomPairsCount;
+
+            return topComplete && bottomComplete;
+        }
+    }
+
+    /**
+     * Advance the tournament to its next stage
+     *
+     * @return What happened: validation failure, a new round, a super-final or the end of the tournament
+     */
+    public RoundAdvance advanceRound() {
+        if (isComplete()) {
+            return RoundAdvance.COMPLETE;
+        }
+        if (!isRoundComplete()) {
+            return RoundAdvance.INCOMPLETE;
+        }
+
+        roundHistory.add(RoundSnapshot.capture(state));
+
+        RoundAdvance advance = advanceCompletedRound();
+        for (EngineListener listener : listeners) {
+            listener.onRoundAdvanced(advance);
+        }
+        return advance;
+    }
+
+    private RoundAdvance advanceCompletedRound() {
+        List<Armwrestler> topWinners = new ArrayList<>();
+        List<Armwrestler> topLosers = new ArrayList<>();
+        List<Armwrestler> bottomWinners = new ArrayList<>();
+        List<Armwrestler> bottomLosers = new ArrayList<>();
+
+        buildWinnersAndLosers(topWinners, topLosers, bottomWinners, bottomLosers);
+
+        if (state.isSemifinal() && !state.isFinal()) {
+            return handleSemifinalCompletion(bottomWinners);
+        }
+
+        if (state.isFinal() && !state.isSuperFinal()) {
+            return handleFinalCompletion();
+        }
+
+        if (state.isSuperFinal()) {
+            return handleSuperFinalCompletion();
+        }
+
+        int potentialBottomCount = bottomWinners.size() + topLosers.size();
+        if (topWinners.size() == 1 && potentialBottomCount == 2) {
+            return goToSemifinal(topWinners, bottomWinners, topLosers);
+        }
+
+        return advanceToNextRound(topWinners, bottomWinners, topLosers);
+    }
+
+    public long getActiveWrestlerCount() {
+        return state.getAllParticipants().stream().filter(p -> !p.isEliminated()).count();
+    }
+
+    private void buildWinnersAndLosers(List<Armwrestler> topWinners, List<Armwrestler> topLosers,
+                                      List<Armwrestler> bottomWinners, List<Armwrestler> bottomLosers) {
+        if (!state.isSemifinal()) {
+            buildSectionResults(state.getTopSectionWrestlers(), state.getTopRoundOutcome(), topWinners, topLosers);
+        }
+        buildSectionResults(state.getBottomSectionWrestlers(), state.getBottomRoundOutcome(), bottomWinners, bottomLosers);
+    }
+
+    private void buildSectionResults(List<Armwrestler> wrestlers, RoundOutcome roundOutcome,
+                                     List<Armwrestler> winners, List<Armwrestler> losers) {
+        List<Armwrestler> byeWinners = new ArrayList<>();
+
+        for (int i = 0; i < wrestlers.size(); i += 2) {
+            if (i + 1 < wrestlers.size()) {
+                Armwrestler w1 = wrestlers.get(i);
+                Armwrestler w2 = wrestlers.get(i + 1);
+                int matchIndex = i / 2;
+                int winnerId = roundOutcome.getWinnerId(matchIndex);
+
+                Armwrestler winner = (winnerId == w1.getId()) ? w1 : w2;
+                Armwrestler loser = (winner == w1) ? w2 : w1;
+
+                if (!winner.isEliminated()) winners.add(winner);
+                if (!loser.isEliminated()) losers.add(loser);
+            } else {
+                Armwrestler w1 = wrestlers.get(i);
+                if (!w1.isEliminated()) byeWinners.add(w1);
+            }
+        }
+
+        winners.addAll(0, byeWinners);
+    }
+
+    private RoundAdvance handleSemifinalCompletion(List<Armwrestler> bottomWinners) {
+        Armwrestler bottomWinner = bottomWinners.get(0);
+        Armwrestler topWinner = state.getTopSectionWrestlers().get(0);
+
+        state.setSemifinal(false);
+        state.setFinal(true);
+        state.setTopSectionWrestlers(new ArrayList<>(List.of(topWinner)));
+        state.setBottomSectionWrestlers(new ArrayList<>(List.of(bottomWinner)));
+        state.setCurrentRound(state.getCurrentRound() + 1);
+        state.clearRoundOutcomes();
+        return RoundAdvance.NEXT_ROUND;
+    }
+
+    private RoundAdvance handleFinalCompletion() {
+        Armwrestler topFinalWinner = state.getTopSectionWrestlers().get(0);
+        Armwrestler bottomFinalWinner = state.getBottomSectionWrestlers().get(0);
+
+        int finalWinnerId = state.getTopRoundOutcome().getWinnerId(0);
+        Armwrestler finalWinner = (finalWinnerId == topFinalWinner.getId()) ? topFinalWinner : bottomFinalWinner;
+        Armwrestler finalLoser = (finalWinner == topFinalWinner) ? bottomFinalWinner : topFinalWinner;
+
+        if (finalWinner == bottomFinalWinner && bottomFinalWinner.getLosses() == 1) {
+            state.setFinal(false);
+            state.setSuperFinal(true);
+            state.setTopSectionWrestlers(new ArrayList<>(List.of(finalWinner)));
+            state.setBottomSectionWrestlers(new ArrayList<>(List.of(finalLoser)));
+            state.setCurrentRound(state.getCurrentRound() + 1);
+            state.clearRoundOutcomes();
+            return RoundAdvance.SUPER_FINAL;
+        }
+
+        champion = finalWinner;
+        return RoundAdvance.COMPLETE;
+    }
+
+    private RoundAdvance handleSuperFinalCompletion() {
+        champion = state.getTopRoundOutcome().getWinnerId(0) == state.getTopSectionWrestlers().get(0).getId() ?
+                   state.getTopSectionWrestlers().get(0) : state.getBottomSectionWrestlers().get(0);
+        return RoundAdvance.COMPLETE;
+    }
+
+    private RoundAdvance goToSemifinal(List<Armwrestler> topWinners, List<Armwrestler> bottomWinners, List<Armwrestler> topLosers) {
+        List<Armwrestler> bottom = new ArrayList<>(bottomWinners);
+        bottom.addAll(topLosers);
+
+        state.setSemifinal(true);
+        state.setTopSectionWrestlers(new ArrayList<>(topWinners));
+        state.setBottomSectionWrestlers(bottom);
+        state.setCurrentRound(state.getCurrentRound() + 1);
+        state.clearRoundOutcomes();
+        creditByes();
+        return RoundAdvance.NEXT_ROUND;
+    }
+
+    private RoundAdvance advanceToNextRound(List<Armwrestler> topWinners, List<Armwrestler> bottomWinners, List<Armwrestler> topLosers) {
+        List<Armwrestler> bottom = new ArrayList<>(bottomWinners);
+        bottom.addAll(topLosers);
+
+        state.setTopSectionWrestlers(new ArrayList<>(topWinners));
+        state.setBottomSectionWrestlers(bottom);
+        state.setCurrentRound(state.getCurrentRound() + 1);
+        state.resetAllFlags();
+        state.clearRoundOutcomes();
+        creditByes();
+        return RoundAdvance.NEXT_ROUND;
+    }
+
+    /**
+     * Credit the automatic win of every wrestler left without a pair in the sections
+     * that are played in the current stage. Semifinal plays only the bottom section;
+     * final and super-final are single matches without byes.
+     */
+    private void creditByes() {
+        if (state.isFinal() || state.isSuperFinal()) return;
+
+        if (!state.isSemifinal()) {
+            creditBye(state.getTopSectionWrestlers(), state.getTopRoundOutcome());
+        }
+        creditBye(state.getBottomSectionWrestlers(), state.getBottomRoundOutcome());
+    }
+
+    /**
+     * Remember the records the participants had before the first round in the history, i.e. the
+     * current records minus every result of the history and of the current round. Usually all
+     * zeros; not for a tournament resumed mid-way from a state snapshot.
+     */
+    private void captureBaseRecords(RoundSnapshot currentRound) {
+        List<Armwrestler> participants = state.getAllParticipants();
+        int[] wins = new int[participants.size()];
+        int[] losses = new int[participants.size()];
+        for (int i = 0; i < participants.size(); i++) {
+            wins[i] = participants.get(i).getWins();
+            losses[i] = participants.get(i).getLosses();
+            participants.get(i).setRecord(0, 0);
+        }
+        for (RoundSnapshot round : roundHistory) {
+            creditRecords(round);
+        }
+        creditRecords(currentRound);
+
+        baseWins = new int[participants.size()];
+        baseLosses = new int[participants.size()];
+        for (int i = 0; i < participants.size(); i++) {
+            Armwrestler participant = participants.get(i);
+            baseWins[i] = wins[i] - participant.getWins();
+            baseLosses[i] = losses[i] - participant.getLosses();
+            participant.setRecord(wins[i], losses[i]);
+        }
+    }
+
+    /**
+     * Add the wins and losses of a round's decided matches and byes to the participants' records
+     */
+    private static void creditRecords(RoundSnapshot round) {
+        List<Armwrestler> top = round.getTopSectionWrestlers();
+        List<Armwrestler> bottom = round.getBottomSectionWrestlers();
+        if (round.isFinal() || round.isSuperFinal()) {
+            int winnerId = round.getTopRoundOutcome().getWinnerId(0);
+            if (winnerId != RoundOutcome.NO_WINNER) {
+                Armwrestler winner = top.get(0).getId() == winnerId ? top.get(0) : bottom.get(0);
+                Armwrestler loser = winner == top.get(0) ? bottom.get(0) : top.get(0);
+                winner.incrementWins();
+                loser.incrementLosses();
+            }
+            return;
+        }
+        creditSectionRecords(top, round.getTopRoundOutcome());
+        creditSectionRecords(bottom, round.getBottomRoundOutcome());
+    }
+
+    private static void creditSectionRecords(List<Armwrestler> wrestlers, RoundOutcome roundOutcome) {
+        for (int match = roundOutcome.nextCompleted(0); match >= 0; match = roundOutcome.nextCompleted(match + 1)) {
+            int slot = match * 2;
+            if (slot + 1 >= wrestlers.size()) {
+                wrestlers.get(slot).incrementWins();
+                continue;
+            }
+            Armwrestler w1 = wrestlers.get(slot);
+            Armwrestler w2 = wrestlers.get(slot + 1);
+            Armwrestler winner = roundOutcome.getWinnerId(match) == w1.getId() ? w1 : w2;
+            Armwrestler loser = winner == w1 ? w2 : w1;
+            winner.incrementWins();
+            loser.incrementLosses();
+        }
+    }
+
+    private void creditBye(List<Armwrestler> wrestlers, RoundOutcome roundOutcome) {
+        if (wrestlers.size() % 2 == 0) return;
+
+        int matchIndex = wrestlers.size() / 2;
+        if (!roundOutcome.hasWinner(matchIndex)) {
+            Armwrestler byeWrestler = wrestlers.get(wrestlers.size() - 1);
+            roundOutcome.setWinner(matchIndex, byeWrestler.getId());
+            byeWrestler.incrementWins();
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.objectedge.artem.ai.poc.forms;
 
+import com.objectedge.artem.ai.poc.engine.BracketSeeder;
+import com.objectedge.artem.ai.poc.engine.BracketSimulator;
+import com.objectedge.artem.ai.poc.engine.RatingEngine;
+import com.objectedge.artem.ai.poc.helpers.CSVImportReport;
 import com.objectedge.artem.ai.poc.helpers.CSVLoader;
+import com.objectedge.artem.ai.poc.helpers.CategoryPartitioner;
+import com.objectedge.artem.ai.poc.helpers.ParallelCSVLoader;
 import com.objectedge.artem.ai.poc.models.Armwrestler;
 
 import javax.swing.*;
@@ -10,13 +16,33 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 public class ArmwrestlerForm extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_REPORTED_CSV_ERRORS = 100;
+    private static final String ALL_PARTICIPANTS = "All participants";
+    private static final String[] DRAW_OPTIONS = {
+        "Pair in list order",
+        "Seeded by list order (first = top seed)",
+        "Seeded by list order, random draw within seed tiers",
+        "Seeded by rating",
+        "Seeded by rating, random draw within seed tiers"
+    };
+    private static final int DRAW_LIST_ORDER = 0;
+    private static final int DRAW_SEEDED_RANDOM_TIERS = 2;
+    private static final int DRAW_RATING = 3;
+    private static final int DRAW_RATING_RANDOM_TIERS = 4;
+    private static final int MIN_SIMULATED_PARTICIPANTS = 3;
+    private static final int SIMULATION_ITERATIONS = 100_000;
+
     private List<Armwrestler> armwrestlers;
     private JTextField nameField;
     private JTextField surnameField;
     private JSpinner ageSpinner;
     private JComboBox<String> handComboBox;
+    private JSpinner weightSpinner;
     private JTable armwrestlersTable;
     private DefaultTableModel tableModel;
     private CompetitionForm competitionForm;
@@ -118,6 +144,15 @@ public class ArmwrestlerForm extends JFrame {
         gbc.gridx = 3;
         panel.add(handComboBox, gbc);
 
+        // Weight label and spinner (0 = not registered)
+        JLabel weightLabel = new JLabel("Weight (kg):");
+        gbc.gridx = 4;
+        panel.add(weightLabel, gbc);
+
+        weightSpinner = new JSpinner(new SpinnerNumberModel(0.0, 0.0, CSVLoader.MAX_WEIGHT, 0.5));
+        gbc.gridx = 5;
+        panel.add(weightSpinner, gbc);
+
         // Add button
         JButton addButton = new JButton("Add Armwrestler");
         addButton.addActionListener(e -> addArmwrestler());
@@ -142,14 +177,14 @@ public class ArmwrestlerForm extends JFrame {
         panel.setBorder(BorderFactory.createTitledBorder("Armwrestlers List"));
 
         // Create table model
-        String[] columnNames = {"Name", "Surname", "Age", "Hand"};
+        String[] columnNames = {"Name", "Surname", "Age", "Hand", "Weight"};
         tableModel = new DefaultTableModel(columnNames, 0);
         armwrestlersTable = new JTable(tableModel);
         armwrestlersTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
         // Populate table with pre-defined armwrestlers
         for (Armwrestler wrestler : armwrestlers) {
-            tableModel.addRow(new Object[]{wrestler.getName(), wrestler.getSurname(), wrestler.getAge(), wrestler.getHand()});
+            tableModel.addRow(toRow(wrestler));
         }
 
         // Add scroll pane
@@ -172,6 +207,11 @@ public class ArmwrestlerForm extends JFrame {
         clearButton.addActionListener(e -> clearAllArmwrestlers());
         panel.add(clearButton);
 
+        // Simulate button
+        JButton simulateButton = new JButton("Simulate");
+        simulateButton.addActionListener(e -> simulateCompetition());
+        panel.add(simulateButton);
+
         // Start Competition button
         JButton startCompetitionButton = new JButton("Start Competition");
         startCompetitionButton.addActionListener(e -> startCompetition());
@@ -185,30 +225,45 @@ public class ArmwrestlerForm extends JFrame {
         String surname = surnameField.getText().trim();
         int age = (Integer) ageSpinner.getValue();
         String hand = ((String) handComboBox.getSelectedItem()).toLowerCase();
+        double weight = (Double) weightSpinner.getValue();
 
         if (name.isEmpty() || surname.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Please fill in all fields.", "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        // Same range as CSV import, so that an exported registration list loads again
+        if (weight != Armwrestler.NO_WEIGHT && weight < CSVLoader.MIN_WEIGHT) {
+            JOptionPane.showMessageDialog(this,
+                "Weight must be 0 (not registered) or between " + (int) CSVLoader.MIN_WEIGHT + " and " +
+                (int) CSVLoader.MAX_WEIGHT + " kg.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
 
         // Capitalize first letter of name and surname
         name = capitalizeFirstLetter(name);
         surname = capitalizeFirstLetter(surname);
 
         Armwrestler armwrestler = new Armwrestler(name, surname, age, hand);
+        armwrestler.setWeight(weight);
         armwrestlers.add(armwrestler);
 
         // Add to table without ID
-        tableModel.addRow(new Object[]{name, surname, age, hand});
+        tableModel.addRow(toRow(armwrestler));
 
         // Clear input fields
         nameField.setText("");
         surnameField.setText("");
         ageSpinner.setValue(20);
         handComboBox.setSelectedIndex(0);
+        weightSpinner.setValue(0.0);
         nameField.requestFocus();
     }
 
+    private Object[] toRow(Armwrestler wrestler) {
+        return new Object[]{wrestler.getName(), wrestler.getSurname(), wrestler.getAge(), wrestler.getHand(),
+                            wrestler.hasWeight() ? wrestler.getWeight() : ""};
+    }
+
     private String capitalizeFirstLetter(String text) {
         if (text == null || text.isEmpty()) {
             return text;
@@ -239,10 +294,67 @@ public class ArmwrestlerForm extends JFrame {
             JOptionPane.showMessageDialog(this, "Please add at least one armwrestler.", "No Armwrestlers", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        competitionForm.displayCompetitionPairs(new ArrayList<>(armwrestlers));
+        List<Armwrestler> participants = chooseCategory();
+        if (participants == null) {
+            return;
+        }
+        int draw = chooseDraw();
+        if (draw < 0) {
+            return;
+        }
+        boolean randomWithinTiers = draw == DRAW_SEEDED_RANDOM_TIERS || draw == DRAW_RATING_RANDOM_TIERS;
+        BracketSeeder seeder = draw == DRAW_LIST_ORDER ? null : new BracketSeeder(randomWithinTiers, System.nanoTime());
+        competitionForm.displayCompetitionPairs(new ArrayList<>(participants), seeder, draw >= DRAW_RATING);
         dispose();
     }
 
+    /**
+     * Let the user pick how the first round is drawn
+     *
+     * @return Index into {@link #DRAW_OPTIONS}, or -1 if the user cancelled
+     */
+    private int chooseDraw() {
+        JComboBox<String> drawComboBox = new JComboBox<>(DRAW_OPTIONS);
+        int choice = JOptionPane.showConfirmDialog(this, drawComboBox, "Choose Draw",
+                                                   JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        return choice == JOptionPane.OK_OPTION ? drawComboBox.getSelectedIndex() : -1;
+    }
+
+    /**
+     * Split the registrants by hand, age band and, once any weight is registered, weight class,
+     * and let the user pick the category to run
+     *
+     * @return Participants of the chosen category, or null if the user cancelled
+     */
+    private List<Armwrestler> chooseCategory() {
+        boolean anyWeight = armwrestlers.stream().anyMatch(Armwrestler::hasWeight);
+        CategoryPartitioner partitioner = anyWeight
+                ? new CategoryPartitioner(CategoryPartitioner.DEFAULT_AGE_LIMITS, CategoryPartitioner.DEFAULT_WEIGHT_LIMITS)
+                : new CategoryPartitioner();
+        Map<String, List<Armwrestler>> categories = partitioner.partition(armwrestlers);
+        if (categories.size() <= 1) {
+            return armwrestlers;
+        }
+
+        List<String> options = new ArrayList<>();
+        options.add(ALL_PARTICIPANTS + " (" + armwrestlers.size() + ")");
+        for (Map.Entry<String, List<Armwrestler>> category : categories.entrySet()) {
+            options.add(category.getKey() + " (" + category.getValue().size() + ")");
+        }
+        JComboBox<String> categoryComboBox = new JComboBox<>(options.toArray(new String[0]));
+
+        int choice = JOptionPane.showConfirmDialog(this, categoryComboBox, "Choose Category",
+                                                   JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return null;
+        }
+        int selected = categoryComboBox.getSelectedIndex();
+        if (selected <= 0) {
+            return armwrestlers;
+        }
+        return new ArrayList<>(categories.values()).get(selected - 1);
+    }
+
     private void loadFromCSV() {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Load Armwrestlers from CSV");
@@ -260,30 +372,158 @@ public class ArmwrestlerForm extends JFrame {
 
         int result = fileChooser.showOpenDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
-            try {
-                File selectedFile = fileChooser.getSelectedFile();
-                List<Armwrestler> loadedArmwrestlers = CSVLoader.loadFromCSV(selectedFile.getAbsolutePath());
+            importCSVInBackground(fileChooser.getSelectedFile());
+        }
+    }
 
-                if (loadedArmwrestlers.isEmpty()) {
-                    JOptionPane.showMessageDialog(this, "CSV file is empty or contains no valid data.", "Empty File", JOptionPane.WARNING_MESSAGE);
-                    return;
-                }
+    /**
+     * Stream the file on a worker thread, showing progress, then add the valid rows on the EDT.
+     * Large files are parsed in parallel instead.
+     */
+    private void importCSVInBackground(File selectedFile) {
+        ProgressMonitor progressMonitor = new ProgressMonitor(this, "Loading " + selectedFile.getName(), null, 0, 100);
+        progressMonitor.setMillisToDecideToPopup(200);
 
-                // Add loaded armwrestlers to the list
-                armwrestlers.addAll(loadedArmwrestlers);
+        SwingWorker<CSVImportReport, Void> worker = new SwingWorker<CSVImportReport, Void>() {
+            @Override
+            protected CSVImportReport doInBackground() throws IOException {
+                CSVLoader.ImportProgressListener progressListener =
+                        (bytesRead, totalBytes) -> setProgress(totalBytes == 0 ? 100 : (int) (bytesRead * 100 / totalBytes));
+                if (selectedFile.length() >= ParallelCSVLoader.MIN_FILE_SIZE) {
+                    return ParallelCSVLoader.importFromCSV(selectedFile.getAbsolutePath(), MAX_REPORTED_CSV_ERRORS, progressListener);
+                }
+                return CSVLoader.importFromCSV(selectedFile.getAbsolutePath(), MAX_REPORTED_CSV_ERRORS, progressListener);
+            }
 
-                // Update table
-                for (Armwrestler wrestler : loadedArmwrestlers) {
-                    tableModel.addRow(new Object[]{wrestler.getName(), wrestler.getSurname(), wrestler.getAge(), wrestler.getHand()});
+            @Override
+            protected void done() {
+                progressMonitor.close();
+                try {
+                    showImportReport(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(ArmwrestlerForm.this, "Error reading file: " + e.getCause().getMessage(), "File Error", JOptionPane.ERROR_MESSAGE);
                 }
+            }
+        };
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                progressMonitor.setProgress((Integer) evt.getNewValue());
+            }
+        });
+        worker.execute();
+    }
 
-                JOptionPane.showMessageDialog(this, "Successfully loaded " + loadedArmwrestlers.size() + " armwrestlers from CSV file.", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (IOException e) {
-                JOptionPane.showMessageDialog(this, "Error reading file: " + e.getMessage(), "File Error", JOptionPane.ERROR_MESSAGE);
-            } catch (IllegalArgumentException e) {
-                JOptionPane.showMessageDialog(this, "CSV format error: " + e.getMessage(), "Format Error", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Play the chosen category many times from the current ratings and show each
+     * armwrestler's medal chances and the expected length of the event
+     */
+    private void simulateCompetition() {
+        List<Armwrestler> participants = chooseCategory();
+        if (participants == null) {
+            return;
+        }
+        if (participants.size() < MIN_SIMULATED_PARTICIPANTS) {
+            JOptionPane.showMessageDialog(this, "Please add at least " + MIN_SIMULATED_PARTICIPANTS + " armwrestlers to simulate.",
+                                          "Not Enough Armwrestlers", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        RatingEngine ratingEngine = competitionForm.getRatingEngine();
+        double[] strengths = new double[participants.size()];
+        for (int i = 0; i < strengths.length; i++) {
+            strengths[i] = ratingEngine.getStrength(participants.get(i));
+        }
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        SwingWorker<BracketSimulator.SimulationResult, Void> worker = new SwingWorker<BracketSimulator.SimulationResult, Void>() {
+            @Override
+            protected BracketSimulator.SimulationResult doInBackground() {
+                return new BracketSimulator(strengths).simulate(SIMULATION_ITERATIONS, System.nanoTime());
             }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showSimulationReport(participants, get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(ArmwrestlerForm.this, "Simulation failed: " + e.getCause().getMessage(),
+                                                  "Simulation Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    private void showSimulationReport(List<Armwrestler> participants, BracketSimulator.SimulationResult result) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < participants.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> Double.compare(result.getGoldProbability(b), result.getGoldProbability(a)));
+
+        DefaultTableModel model = new DefaultTableModel(new String[]{"Name", "Surname", "Gold", "Silver", "Bronze", "Medal"}, 0);
+        for (int i : order) {
+            Armwrestler wrestler = participants.get(i);
+            model.addRow(new Object[]{wrestler.getName(), wrestler.getSurname(),
+                    formatPercent(result.getGoldProbability(i)), formatPercent(result.getSilverProbability(i)),
+                    formatPercent(result.getBronzeProbability(i)), formatPercent(result.getMedalProbability(i))});
+        }
+        JTable table = new JTable(model);
+        table.setEnabled(false);
+
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.add(new JLabel(String.format("%,d simulated brackets: %.1f rounds and %.0f matches on average, at most %d rounds",
+                result.getIterations(), result.getAverageRounds(), result.getAverageMatches(), result.getMaxRounds())),
+                BorderLayout.NORTH);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(600, 300));
+        panel.add(scrollPane, BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, panel, "Simulation", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private static String formatPercent(double probability) {
+        return String.format("%.1f%%", probability * 100);
+    }
+
+    private void showImportReport(CSVImportReport report) {
+        List<Armwrestler> loadedArmwrestlers = report.getArmwrestlers();
+
+        if (loadedArmwrestlers.isEmpty() && !report.hasErrors()) {
+            JOptionPane.showMessageDialog(this, "CSV file is empty or contains no valid data.", "Empty File", JOptionPane.WARNING_MESSAGE);
+            return;
         }
+
+        // Add loaded armwrestlers to the list
+        armwrestlers.addAll(loadedArmwrestlers);
+
+        // Update table
+        for (Armwrestler wrestler : loadedArmwrestlers) {
+            tableModel.addRow(toRow(wrestler));
+        }
+
+        if (!report.hasErrors()) {
+            JOptionPane.showMessageDialog(this, "Successfully loaded " + loadedArmwrestlers.size() + " armwrestlers from CSV file.", "Success", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append("Loaded ").append(loadedArmwrestlers.size()).append(" armwrestlers, skipped ")
+               .append(report.getErrorCount()).append(" invalid rows:\n\n");
+        for (String error : report.getErrors()) {
+            message.append(error).append('\n');
+        }
+        if (report.getOmittedErrorCount() > 0) {
+            message.append("... and ").append(report.getOmittedErrorCount()).append(" more");
+        }
+
+        JTextArea errorArea = new JTextArea(message.toString(), 15, 60);
+        errorArea.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(errorArea), "CSV Format Errors", JOptionPane.WARNING_MESSAGE);
     }
 
     public List<Armwrestler> getArmwrestlers() {
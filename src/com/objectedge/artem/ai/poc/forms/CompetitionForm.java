@@ -1,42 +1,117 @@
 package com.objectedge.artem.ai.poc.forms;
 
+import com.objectedge.artem.ai.poc.engine.BracketSeeder;
+import com.objectedge.artem.ai.poc.engine.RatingEngine;
+import com.objectedge.artem.ai.poc.engine.ResultHistory;
+import com.objectedge.artem.ai.poc.engine.ResultJournal;
+import com.objectedge.artem.ai.poc.engine.TournamentEngine;
 import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RatingRecord;
 import com.objectedge.artem.ai.poc.models.TournamentState;
 import com.objectedge.artem.ai.poc.managers.RoundTabManager;
+import com.objectedge.artem.ai.poc.managers.RoundTransition;
 import com.objectedge.artem.ai.poc.managers.TournamentTableManager;
 import com.objectedge.artem.ai.poc.managers.TournamentProgression;
+import com.objectedge.artem.ai.poc.helpers.CSVLoader;
+import com.objectedge.artem.ai.poc.helpers.EventMetrics;
 import com.objectedge.artem.ai.poc.helpers.MatchPanelFactory;
+import com.objectedge.artem.ai.poc.helpers.UpdateCoalescer;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Main form for the ArmWrestling Competition application.
  * Orchestrates the tournament using various manager classes.
+ *
+ * Round advances, bracket creation, undo/redo and amendments run on a worker thread
+ * (see {@link #runInBackground(Callable, Consumer)}); the Event Dispatch Thread only
+ * applies the prepared {@link RoundTransition}. While such an operation is running, result
+ * entry and the other engine actions are ignored, so the engine is never used by two
+ * threads at once.
+ *
+ * Player ratings are kept up to date by a {@link RatingEngine} and saved next to the journal
+ * in {@value #RATINGS_FILE_NAME} when a new bracket is created and when the tournament
+ * completes. A completed tournament is archived rather than resumed, so the file then includes
+ * it; until then it holds the ratings from before the tournament in the journal, which a resumed
+ * tournament is rated again from.
  */
 public class CompetitionForm extends JFrame {
+    private static final long serialVersionUID = 1L;
+    private static final int FRAME_INTERVAL_MILLIS = 16;
+    private static final String RATINGS_FILE_NAME = "ratings.csv";
+
+    private TournamentEngine tournamentEngine;
     private TournamentState tournamentState;
     private RoundTabManager roundTabManager;
     private TournamentTableManager tableManager;
     private TournamentProgression tournamentProgression;
+    private ResultJournal resultJournal;
+    private ResultHistory resultHistory;
+    private RatingEngine ratingEngine;
+    private Path ratingsFile;
+    private boolean ratingsIncludeTournament;
+    private UpdateCoalescer uiUpdates;
 
     private JPanel mainContentPanel;
     private ArmwrestlerForm armwrestlerForm;
     private JButton nextRoundButton;
     private JButton manageArmwrestlersButton;
+    private JButton undoButton;
+    private JButton redoButton;
+    private boolean transitionInProgress;
 
     public CompetitionForm() {
+        this(null);
+    }
+
+    /**
+     * @param journalDirectory Directory for the result journal and snapshot, or null to run without one.
+     *                         A tournament found there is restored and resumed.
+     */
+    public CompetitionForm(Path journalDirectory) {
         setTitle("ArmWrestling Competition");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(1100, 700);
         setLocationRelativeTo(null);
 
         // Initialize state and managers
-        tournamentState = new TournamentState();
+        tournamentEngine = openTournament(journalDirectory);
+        tournamentState = tournamentEngine.getState();
+        resultHistory = new ResultHistory(tournamentEngine);
+        ratingEngine = new RatingEngine(tournamentEngine, loadRatings(journalDirectory));
+        tournamentEngine.addEngineListener(new TournamentEngine.EngineListener() {
+            @Override
+            public void onResultRecorded(boolean isTopSection, int matchIndex, int winnerId) {
+                updateUndoRedoButtonsLater();
+            }
+
+            @Override
+            public void onFinalResultRecorded(int winnerId) {
+                updateUndoRedoButtonsLater();
+            }
+
+            @Override
+            public void onRoundAdvanced(TournamentEngine.RoundAdvance advance) {
+                updateUndoRedoButtonsLater();
+            }
+        });
         tableManager = new TournamentTableManager();
-        tournamentProgression = new TournamentProgression(tournamentState, createProgressionListener());
+        uiUpdates = new UpdateCoalescer(FRAME_INTERVAL_MILLIS, tableManager::updateWrestlers);
+        tournamentProgression = new TournamentProgression(tournamentEngine, createProgressionListener());
 
         // Main layout
         JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
@@ -54,10 +129,21 @@ public class CompetitionForm extends JFrame {
         manageArmwrestlersButton = new JButton("Manage Armwrestlers");
         manageArmwrestlersButton.addActionListener(e -> openArmwrestlerForm());
         topButtonPanel.add(manageArmwrestlersButton);
+
+        // Undo / redo of results and round advances
+        undoButton = new JButton("Undo");
+        undoButton.addActionListener(e -> undo());
+        topButtonPanel.add(undoButton);
+        redoButton = new JButton("Redo");
+        redoButton.addActionListener(e -> redo());
+        topButtonPanel.add(redoButton);
+        bindKey(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo", this::undo);
+        bindKey(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo", this::redo);
         mainPanel.add(topButtonPanel, BorderLayout.NORTH);
 
         // Initialize round tab manager
-        roundTabManager = new RoundTabManager(tournamentState, createMatchListener(), createFinalListener());
+        roundTabManager = new RoundTabManager(tournamentEngine, createMatchListener(), createFinalListener());
+        roundTabManager.setResultAmendListener(createAmendListener());
 
         // Central content (rounds tabs) on left
         JPanel centerPanel = new JPanel(new BorderLayout());
@@ -75,133 +161,346 @@ public class CompetitionForm extends JFrame {
         // Bottom next round
         JPanel bottomButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         nextRoundButton = new JButton("Next Round");
-        nextRoundButton.addActionListener(e -> tournamentProgression.proceedToNextRound());
+        nextRoundButton.addActionListener(e -> proceedToNextRound());
         bottomButtonPanel.add(nextRoundButton);
         mainPanel.add(bottomButtonPanel, BorderLayout.SOUTH);
 
         add(mainPanel);
 
 
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeJournal();
+            }
+        });
+
         tableManager.updateTable(tournamentState.getAllParticipants());
         updateNextRoundButtonVisibility();
+        updateUndoRedoButtons();
+
+        if (!tournamentState.getAllParticipants().isEmpty()) {
+            resumeCompetition();
+        }
     }
 
-    private void openArmwrestlerForm() {
-        armwrestlerForm = new ArmwrestlerForm(this);
-        armwrestlerForm.setVisible(true);
+    /**
+     * Open the result journal and recover the tournament it holds, if any.
+     * Every change to the returned engine is journaled from then on.
+     */
+    private TournamentEngine openTournament(Path journalDirectory) {
+        if (journalDirectory == null) {
+            return new TournamentEngine();
+        }
+
+        TournamentEngine engine = null;
+        try {
+            resultJournal = new ResultJournal(journalDirectory);
+            resultJournal.setFailureListener(this::reportJournalFailure);
+            engine = resultJournal.recover();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not restore the previous tournament: " + e.getMessage(),
+                                          "Recovery Error", JOptionPane.ERROR_MESSAGE);
+        }
+
+        if (engine == null) {
+            engine = new TournamentEngine();
+        }
+        if (resultJournal != null) {
+            resultJournal.attach(engine);
+        }
+        return engine;
     }
 
-    public void displayCompetitionPairs(List<Armwrestler> wrestlersList) {
-        tournamentState.setAllParticipants(new ArrayList<>(wrestlersList));
-        tournamentState.initializeRound(wrestlersList);
-        tableManager.updateTable(tournamentState.getAllParticipants());
-        manageArmwrestlersButton.setVisible(false);
+    /**
+     * Load the ratings saved before the journaled tournament
+     *
+     * @return Saved ratings, empty when running without a journal or before the first tournament
+     */
+    private List<RatingRecord> loadRatings(Path journalDirectory) {
+        if (journalDirectory == null) {
+            return Collections.emptyList();
+        }
+        ratingsFile = journalDirectory.resolve(RATINGS_FILE_NAME);
+        if (!Files.exists(ratingsFile)) {
+            return Collections.emptyList();
+        }
+        try {
+            return CSVLoader.loadRatingsFromCSV(ratingsFile.toString());
+        } catch (IOException | IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, "Could not load player ratings: " + e.getMessage(),
+                                          "Ratings Error", JOptionPane.ERROR_MESSAGE);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Save the ratings including the current tournament once it is complete, otherwise as they
+     * were before it, so that the file stays consistent with what the journal would resume
+     */
+    private void saveTournamentRatings() {
+        boolean complete = tournamentEngine.isComplete();
+        if (complete || ratingsIncludeTournament) {
+            saveRatings(complete ? ratingEngine.getRatingRecords() : ratingEngine.getStartRatingRecords());
+            ratingsIncludeTournament = complete;
+        }
+    }
+
+    private void saveRatings(List<RatingRecord> ratings) {
+        if (ratingsFile == null) return;
+        try {
+            CSVLoader.saveRatingsToCSV(ratingsFile.toString(), ratings);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not save player ratings: " + e.getMessage(),
+                                          "Ratings Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    public RatingEngine getRatingEngine() {
+        return ratingEngine;
+    }
+
+    /**
+     * Called on the thread that hit the error, usually the journal writer
+     */
+    private void reportJournalFailure(IOException error) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+            "Results can no longer be saved to the journal: " + error.getMessage() + "\n" +
+            "Results entered from now on will not be restored after a crash.",
+            "Journal Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-        // Create first round tab
-        roundTabManager.createNewRound();
+    private void closeJournal() {
+        if (resultJournal == null) return;
+        try {
+            resultJournal.close();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Some results could not be saved to the journal: " + e.getMessage(),
+                                          "Journal Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Show a tournament restored from the journal: past rounds and the current round
+     */
+    private void resumeCompetition() {
+        manageArmwrestlersButton.setVisible(false);
+        roundTabManager.restoreRounds();
         updateNextRoundButtonVisibility();
     }
 
-    private MatchPanelFactory.MatchSelectionListener createMatchListener() {
-        return (winnerId, loserId, matchIndex, button1, button2, isTopSection) -> {
-            List<Armwrestler> wrestlers = isTopSection ? tournamentState.getTopSectionWrestlers() : tournamentState.getBottomSectionWrestlers();
-            Map<Integer, Integer> roundOutcome = isTopSection ? tournamentState.getTopRoundOutcome() : tournamentState.getBottomRoundOutcome();
+    private void bindKey(KeyStroke keyStroke, String actionName, Runnable action) {
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(keyStroke, actionName);
+        getRootPane().getActionMap().put(actionName, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                action.run();
+            }
+        });
+    }
 
-            if (wrestlers == null || wrestlers.isEmpty()) return;
+    /**
+     * Run an engine operation on a worker thread and hand its prepared result to the EDT.
+     * Ignored while another operation is still running.
+     *
+     * @param operation Changes the engine and prepares everything the UI needs; must not touch Swing
+     * @param apply Applies the result on the Event Dispatch Thread
+     */
+    private <T> void runInBackground(Callable<T> operation, Consumer<T> apply) {
+        if (transitionInProgress) return;
+        // Show pending results before the table is rebuilt
+        uiUpdates.flush();
+        // The worker resets outcomes and credits records the current views would otherwise paint
+        roundTabManager.freezeCurrentRound();
+        setTransitionInProgress(true);
+
+        SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return operation.call();
+            }
 
-            Armwrestler winner = null, loser = null;
-            for (Armwrestler w : wrestlers) {
-                if (w != null) {
-                    if (w.getId() == winnerId) winner = w;
-                    if (w.getId() == loserId) loser = w;
+            @Override
+            protected void done() {
+                setTransitionInProgress(false);
+                try {
+                    apply.accept(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(CompetitionForm.this, "Could not update the tournament: " + e.getCause(),
+                                                  "Tournament Error", JOptionPane.ERROR_MESSAGE);
+                } finally {
+                    roundTabManager.showLiveRound();
                 }
             }
+        };
+        worker.execute();
+    }
 
-            if (winner == null || loser == null) return;
+    private void setTransitionInProgress(boolean inProgress) {
+        transitionInProgress = inProgress;
+        nextRoundButton.setEnabled(!inProgress);
+        setCursor(inProgress ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        updateUndoRedoButtons();
+    }
 
-            Integer prevWinnerId = roundOutcome.get(matchIndex);
+    private void proceedToNextRound() {
+        runInBackground(tournamentProgression::prepareNextRound, transition -> {
+            if (transition.getStandings() != null) {
+                tableManager.applyRanking(transition.getStandings());
+            }
+            tournamentProgression.applyTransition(transition);
+            updateNextRoundButtonVisibility(transition.getActiveWrestlerCount());
+        });
+    }
 
-            if (prevWinnerId != null && prevWinnerId != winnerId) {
-                int idx1 = matchIndex * 2;
-                int idx2 = matchIndex * 2 + 1;
-                Armwrestler w1 = (idx1 < wrestlers.size()) ? wrestlers.get(idx1) : null;
-                Armwrestler w2 = (idx2 < wrestlers.size()) ? wrestlers.get(idx2) : null;
+    private void undo() {
+        runInBackground(() -> resultHistory.undo() ? tournamentProgression.prepareRefresh() : null,
+                        this::refreshAfterRewind);
+    }
 
-                if (w1 != null && w2 != null) {
-                    Armwrestler prevWinner = (prevWinnerId == w1.getId()) ? w1 : w2;
-                    Armwrestler prevLoser = (prevWinnerId == w1.getId()) ? w2 : w1;
-                    if (prevWinner != null && prevLoser != null) {
-                        prevWinner.decrementWins();
-                        prevLoser.decrementLosses();
-                    }
-                }
+    private void redo() {
+        runInBackground(() -> resultHistory.redo() ? tournamentProgression.prepareRefresh() : null,
+                        this::refreshAfterRewind);
+    }
+
+    private RoundTabManager.ResultAmendListener createAmendListener() {
+        return new RoundTabManager.ResultAmendListener() {
+            @Override
+            public void onResultAmended(int roundNumber, boolean isTopSection, int matchIndex, int winnerId) {
+                amendInBackground(() -> resultHistory.amendResult(roundNumber, isTopSection, matchIndex, winnerId));
             }
 
-            if (prevWinnerId != null && prevWinnerId == winnerId) return;
-
-            winner.incrementWins();
-            loser.incrementLosses();
-            roundOutcome.put(matchIndex, winnerId);
-
-            int idx1 = matchIndex * 2;
-            int idx2 = matchIndex * 2 + 1;
-            Armwrestler w1 = (idx1 < wrestlers.size()) ? wrestlers.get(idx1) : null;
-            Armwrestler w2 = (idx2 < wrestlers.size()) ? wrestlers.get(idx2) : null;
-
-            if (w1 != null && w2 != null) {
-                updateButtonUI(button1, w1, w1.getId() == winnerId);
-                updateButtonUI(button2, w2, w2.getId() == winnerId);
-                // Only repaint the buttons themselves - no parent/panel repaints
-                button1.revalidate();
-                button1.repaint();
-                button2.revalidate();
-                button2.repaint();
+            @Override
+            public void onFinalResultAmended(int roundNumber, int winnerId) {
+                amendInBackground(() -> resultHistory.amendFinalResult(roundNumber, winnerId));
             }
+        };
+    }
 
-            // Update tournament table to reflect winner selection
-            tableManager.updateTable(tournamentState.getAllParticipants());
+    /**
+     * @param amendment Amends the history and returns the number of dropped later results, or -1 if rejected
+     */
+    private void amendInBackground(Callable<Integer> amendment) {
+        runInBackground(() -> {
+            int droppedResults = amendment.call();
+            return droppedResults < 0 ? null : new Amendment(droppedResults, tournamentProgression.prepareRefresh());
+        }, this::afterAmend);
+    }
+
+    private void afterAmend(Amendment amendment) {
+        if (amendment == null) return;
+
+        refreshAfterRewind(amendment.transition);
+        if (amendment.droppedResults > 0) {
+            JOptionPane.showMessageDialog(this,
+                amendment.droppedResults + " later result(s) no longer fit the corrected bracket and were removed.\n" +
+                "Please enter them again.",
+                "Result Amended", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    /**
+     * Re-render everything after the engine was rewound: rounds may have been removed or re-derived
+     *
+     * @param transition Standings prepared for the rewound state, or null if nothing changed
+     */
+    private void refreshAfterRewind(RoundTransition transition) {
+        if (transition == null) return;
+
+        tableManager.applyRanking(transition.getStandings());
+        roundTabManager.rebuildRounds();
+        updateNextRoundButtonVisibility(transition.getActiveWrestlerCount());
+        updateUndoRedoButtons();
+        // Undoing or amending the final changes whether the saved ratings should include the tournament
+        saveTournamentRatings();
+    }
+
+    private void updateUndoRedoButtons() {
+        undoButton.setEnabled(!transitionInProgress && resultHistory.canUndo());
+        redoButton.setEnabled(!transitionInProgress && resultHistory.canRedo());
+    }
+
+    /**
+     * Engine listeners may be called on a worker thread during a transition
+     */
+    private void updateUndoRedoButtonsLater() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            updateUndoRedoButtons();
+        } else {
+            SwingUtilities.invokeLater(this::updateUndoRedoButtons);
+        }
+    }
+
+    private void openArmwrestlerForm() {
+        armwrestlerForm = new ArmwrestlerForm(this);
+        armwrestlerForm.setVisible(true);
+    }
+
+    /**
+     * Create the bracket and show the first round
+     *
+     * @param wrestlersList Participants
+     * @param seeder Seeding stage that turns the ranking into the draw, or null to pair in list order
+     * @param seedByRating Whether to rank by current rating rather than by list order (best first)
+     */
+    public void displayCompetitionPairs(List<Armwrestler> wrestlersList, BracketSeeder seeder, boolean seedByRating) {
+        manageArmwrestlersButton.setVisible(false);
+        // Everything rated so far, i.e. the ratings the new tournament starts from
+        saveRatings(ratingEngine.getRatingRecords());
+        ratingsIncludeTournament = false;
+        runInBackground(() -> {
+            List<Armwrestler> draw = wrestlersList;
+            if (seeder != null) {
+                draw = seedByRating ? seeder.seed(wrestlersList, ratingEngine::getRating) : seeder.seed(wrestlersList);
+            }
+            tournamentEngine.createBracket(draw);
+            return tournamentProgression.prepareRefresh();
+        }, transition -> {
+            tableManager.applyRanking(transition.getStandings());
+
+            // Create first round tab
+            roundTabManager.createNewRound();
+            updateNextRoundButtonVisibility(transition.getActiveWrestlerCount());
+            updateUndoRedoButtons();
+        });
+    }
+
+    private MatchPanelFactory.MatchSelectionListener createMatchListener() {
+        return (winnerId, loserId, matchIndex, isTopSection) -> {
+            // The match list repaints the pair itself after the selection
+            if (transitionInProgress || !tournamentEngine.recordResult(isTopSection, matchIndex, winnerId)) return;
+            // Counted here rather than in an engine listener, which also sees replayed results
+            EventMetrics.getDefault().recordMatch();
+
+            List<Armwrestler> wrestlers = isTopSection ? tournamentState.getTopSectionWrestlers() : tournamentState.getBottomSectionWrestlers();
+
+            // Update tournament table to reflect winner selection, batched with other quick clicks
+            uiUpdates.wrestlersChanged(wrestlers.get(matchIndex * 2), wrestlers.get(matchIndex * 2 + 1));
         };
     }
 
     private MatchPanelFactory.FinalMatchSelectionListener createFinalListener() {
         return (winnerId, loserId, buttonWinner, buttonLoser) -> {
-            // Store references BEFORE any state modifications
+            if (transitionInProgress || !tournamentEngine.recordFinalResult(winnerId)) return;
+            EventMetrics.getDefault().recordMatch();
+
             Armwrestler topChamp = tournamentState.getTopSectionWrestlers().get(0);
             Armwrestler bottomChamp = tournamentState.getBottomSectionWrestlers().get(0);
-
             Armwrestler winner = (winnerId == topChamp.getId()) ? topChamp : bottomChamp;
             Armwrestler loser = (winner == topChamp) ? bottomChamp : topChamp;
 
-            Integer prevWinnerId = tournamentState.getTopRoundOutcome().get(0);
-
-            if (prevWinnerId != null && prevWinnerId != winnerId) {
-                Armwrestler prevWinner = (prevWinnerId == topChamp.getId()) ? topChamp : bottomChamp;
-                Armwrestler prevLoser = (prevWinnerId == topChamp.getId()) ? bottomChamp : topChamp;
-                if (prevWinner != null && prevLoser != null) {
-                    prevWinner.decrementWins();
-                    prevLoser.decrementLosses();
-                }
-            }
-
-            if (prevWinnerId != null && prevWinnerId == winnerId) return;
-
-            winner.incrementWins();
-            loser.incrementLosses();
-            tournamentState.getTopRoundOutcome().put(0, winnerId);
-
             // Update button UI using SAME button objects passed in - never recreate
             // This ensures buttons stay in their original positions
             updateButtonUI(buttonWinner, winner, true);
             updateButtonUI(buttonLoser, loser, false);
 
-            // Only repaint the buttons themselves - no parent/panel repaints
-            buttonWinner.revalidate();
-            buttonWinner.repaint();
-            buttonLoser.revalidate();
-            buttonLoser.repaint();
+            // Only repaint the buttons themselves - no parent/panel repaints - once per frame
+            uiUpdates.componentsChanged(buttonWinner, buttonLoser);
 
             // Update tournament table to reflect winner selection
-            tableManager.updateTable(tournamentState.getAllParticipants());
+            uiUpdates.wrestlersChanged(winner, loser);
         };
     }
 
@@ -209,11 +508,10 @@ public class CompetitionForm extends JFrame {
         return new TournamentProgression.TournamentProgressionListener() {
             @Override
             public void onTournamentComplete(Armwrestler winner) {
+                saveTournamentRatings();
                 JOptionPane.showMessageDialog(CompetitionForm.this,
                     "Tournament Complete!\n\nWinner: " + winner.getName() + " " + winner.getSurname(),
                     "Tournament Over", JOptionPane.INFORMATION_MESSAGE);
-                tableManager.updateTable(tournamentState.getAllParticipants());
-                updateNextRoundButtonVisibility();
             }
 
             @Override
@@ -227,9 +525,7 @@ public class CompetitionForm extends JFrame {
 
             @Override
             public void onRoundDisplayRequested() {
-                tableManager.updateTable(tournamentState.getAllParticipants());
                 roundTabManager.createNewRound();
-                updateNextRoundButtonVisibility();
             }
 
             @Override
@@ -237,7 +533,7 @@ public class CompetitionForm extends JFrame {
                 JOptionPane.showMessageDialog(CompetitionForm.this,
                     "Please select a winner for all matches before proceeding.",
                     "Incomplete Round", JOptionPane.WARNING_MESSAGE);
-                // Highlight will be handled by the tab manager
+                roundTabManager.highlightIncompletePairs();
             }
         };
     }
@@ -268,17 +564,36 @@ public class CompetitionForm extends JFrame {
 
     private void updateNextRoundButtonVisibility() {
         List<Armwrestler> participants = tournamentState.getAllParticipants();
+        updateNextRoundButtonVisibility(participants.isEmpty() ? 0 : tableManager.getActiveWrestlerCount(participants));
+    }
+
+    /**
+     * @param activeCount Number of wrestlers not eliminated yet
+     */
+    private void updateNextRoundButtonVisibility(long activeCount) {
         // If no participants yet (initial state), hide the button
-        if (participants.isEmpty()) {
+        if (tournamentState.getAllParticipants().isEmpty()) {
             nextRoundButton.setVisible(false);
             return;
         }
 
-        long activeCount = tableManager.getActiveWrestlerCount(participants);
         // Hide button only if tournament is complete (1 or fewer active wrestlers)
         boolean tournamentOver = activeCount <= 1;
         nextRoundButton.setVisible(!tournamentOver);
     }
+
+    /**
+     * Result of an amendment prepared on a worker thread
+     */
+    private static class Amendment {
+        private final int droppedResults;
+        private final RoundTransition transition;
+
+        Amendment(int droppedResults, RoundTransition transition) {
+            this.droppedResults = droppedResults;
+            this.transition = transition;
+        }
+    }
 }
 
 
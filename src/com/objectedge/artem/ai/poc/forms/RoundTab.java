@@ -1,26 +1,30 @@
 package com.objectedge.artem.ai.poc.forms;
 
 import com.objectedge.artem.ai.poc.helpers.MatchPanelFactory;
-import com.objectedge.artem.ai.poc.models.TournamentState;
+import com.objectedge.artem.ai.poc.models.RoundSnapshot;
 import javax.swing.*;
 import java.util.*;
 
 /**
- * Represents a single round tab in the tabbed interface
+ * Represents a single round tab in the tabbed interface.
+ * A tab never references the live tournament state: once its round is played it keeps
+ * only the round's immutable snapshot.
  */
 public class RoundTab extends JPanel {
+    private static final long serialVersionUID = 1L;
+
     private int roundNumber;
-    private TournamentState state;
     private JPanel contentPanel;
     private MatchPanelFactory.MatchSelectionListener matchListener;
     private MatchPanelFactory.FinalMatchSelectionListener finalListener;
     private String roundLabel;
+    private RoundSnapshot snapshot;
+    private boolean materialized;
 
-    public RoundTab(int roundNumber, TournamentState state, String roundLabel,
+    public RoundTab(int roundNumber, String roundLabel,
                    MatchPanelFactory.MatchSelectionListener matchListener,
                    MatchPanelFactory.FinalMatchSelectionListener finalListener) {
         this.roundNumber = roundNumber;
-        this.state = state;
         this.roundLabel = roundLabel;
         this.matchListener = matchListener;
         this.finalListener = finalListener;
@@ -48,6 +52,33 @@ public class RoundTab extends JPanel {
         return contentPanel;
     }
 
+    /**
+     * @return Snapshot of the round once it is played, null while it is the current round
+     */
+    public RoundSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(RoundSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    public void setMaterialized(boolean materialized) {
+        this.materialized = materialized;
+    }
+
+    /**
+     * Drop the round content, leaving a lightweight placeholder
+     */
+    public void dematerialize() {
+        materialized = false;
+        refresh();
+    }
+
     public void refresh() {
         contentPanel.removeAll();
         contentPanel.revalidate();
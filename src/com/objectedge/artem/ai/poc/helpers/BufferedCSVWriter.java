@@ -0,0 +1,187 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * CSV writer that formats rows into a reusable char buffer and writes them through a
+ * FileChannel in large blocks. Output goes to a temp file next to the target, which is
+ * atomically renamed into place on commit, so readers never see a half-written export.
+ * The temp file is created with default permissions and takes over those of a replaced target.
+ * Text is encoded in {@link CSVLoader#CSV_CHARSET}; unpaired surrogates are written as '?',
+ * as a PrintWriter would.
+ */
+class BufferedCSVWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+    private final Path target;
+    private final Path tempFile;
+    private final FileChannel channel;
+    private final CharsetEncoder encoder = CSVLoader.CSV_CHARSET.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final char[] chars = new char[BUFFER_SIZE];
+    private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE * 3);
+    private int position;
+    private boolean committed;
+
+    BufferedCSVWriter(String filePath) throws IOException {
+        target = Paths.get(filePath).toAbsolutePath();
+        Path file;
+        FileChannel opened;
+        while (true) {
+            // Not Files.createTempFile, which would restrict the export to the owner
+            file = target.resolveSibling(target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                opened = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // Name taken, try another one
+            }
+        }
+        tempFile = file;
+        channel = opened;
+    }
+
+    BufferedCSVWriter field(String value) throws IOException {
+        int length = value.length();
+        int offset = 0;
+        while (offset < length) {
+            if (position == chars.length) flushChars();
+            int count = Math.min(length - offset, chars.length - position);
+            value.getChars(offset, offset + count, chars, position);
+            position += count;
+            offset += count;
+        }
+        return this;
+    }
+
+    /**
+     * Append an int without going through Integer.toString
+     */
+    BufferedCSVWriter field(int value) throws IOException {
+        if (chars.length - position < 11) flushChars();
+        if (value == Integer.MIN_VALUE) return field(Integer.toString(value));
+        if (value < 0) {
+            chars[position++] = '-';
+            value = -value;
+        }
+        int start = position;
+        do {
+            chars[position++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Digits were written least significant first
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            char c = chars[i];
+            chars[i] = chars[j];
+            chars[j] = c;
+        }
+        return this;
+    }
+
+    BufferedCSVWriter comma() throws IOException {
+        if (position == chars.length) flushChars();
+        chars[position++] = ',';
+        return this;
+    }
+
+    BufferedCSVWriter endRow() throws IOException {
+        if (chars.length - position < LINE_SEPARATOR.length) flushChars();
+        for (char c : LINE_SEPARATOR) {
+            chars[position++] = c;
+        }
+        return this;
+    }
+
+    /**
+     * Flush everything, sync the temp file and move it over the target
+     */
+    void commit() throws IOException {
+        flushChars();
+        finishEncoding();
+        channel.force(false);
+        channel.close();
+        copyPermissions();
+        try {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+    }
+
+    private void flushChars() throws IOException {
+        charBuffer.limit(position).position(0);
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, byteBuffer, false);
+            if (result.isError()) result.throwException();
+            writeBytes();
+            if (result.isUnderflow()) break;
+        }
+        // Keep a trailing high surrogate for the next block
+        int remaining = charBuffer.remaining();
+        System.arraycopy(chars, charBuffer.position(), chars, 0, remaining);
+        position = remaining;
+        charBuffer.clear();
+    }
+
+    /**
+     * Encode what is left in the buffer as the end of the input, so a trailing
+     * unpaired surrogate is replaced rather than dropped, and flush the encoder
+     */
+    private void finishEncoding() throws IOException {
+        charBuffer.limit(position).position(0);
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, byteBuffer, true);
+            if (result.isError()) result.throwException();
+            writeBytes();
+            if (result.isUnderflow()) break;
+        }
+        while (true) {
+            CoderResult result = encoder.flush(byteBuffer);
+            writeBytes();
+            if (result.isUnderflow()) break;
+        }
+        position = 0;
+        charBuffer.clear();
+    }
+
+    private void copyPermissions() throws IOException {
+        if (Files.exists(target) && Files.getFileAttributeView(target, PosixFileAttributeView.class) != null) {
+            Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(target));
+        }
+    }
+
+    private void writeBytes() throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+
+    /**
+     * Close the writer; an uncommitted export is discarded and the target is left untouched
+     */
+    @Override
+    public void close() throws IOException {
+        if (committed) return;
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import java.util.*;
+
+/**
+ * Result of a streaming CSV import: every valid armwrestler plus a bounded list of row errors
+ */
+public class CSVImportReport {
+    private final List<Armwrestler> armwrestlers = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+    private final int maxReportedErrors;
+    private int errorCount;
+    private int linesRead;
+
+    public CSVImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void addArmwrestler(Armwrestler armwrestler) {
+        armwrestlers.add(armwrestler);
+    }
+
+    void addArmwrestlers(Collection<Armwrestler> loaded) {
+        armwrestlers.addAll(loaded);
+    }
+
+    /**
+     * Count an invalid row; only the first maxReportedErrors messages are kept
+     */
+    void addError(int lineNumber, String message) {
+        errorCount++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add("Error on line " + lineNumber + ": " + message);
+        }
+    }
+
+    void setLinesRead(int linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public List<Armwrestler> getArmwrestlers() {
+        return armwrestlers;
+    }
+
+    /**
+     * @return Reported error messages, at most maxReportedErrors of them
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return Total number of invalid rows, including ones not kept in the report
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public int getOmittedErrorCount() {
+        return errorCount - errors.size();
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    public int getLinesRead() {
+        return linesRead;
+    }
+}
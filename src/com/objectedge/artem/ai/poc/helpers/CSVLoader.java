@@ -1,17 +1,39 @@
 package com.objectedge.artem.ai.poc.helpers;
 
 import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RatingRecord;
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Utility class for reading armwrestler data from CSV files
  */
 public class CSVLoader {
+    static final String EMPTY_NAME_MESSAGE = "Name cannot be empty";
+    static final String EMPTY_SURNAME_MESSAGE = "Surname cannot be empty";
+    private static final int PROGRESS_INTERVAL_LINES = 4096;
+    private static final String STATUS_ELIMINATED = "ELIMINATED";
+    private static final String STATUS_ACTIVE = "ACTIVE";
+    // A registered weight lies in [MIN_WEIGHT, MAX_WEIGHT]; 0 means no weight
+    public static final double MIN_WEIGHT = 1;
+    public static final double MAX_WEIGHT = 500;
+    // CSV files are read and written in the same charset on every platform
+    static final Charset CSV_CHARSET = StandardCharsets.UTF_8;
+    private static final String RATINGS_HEADER = "Name,Surname,Rating,Deviation,Matches";
+
+    /**
+     * Listener for streaming import progress
+     */
+    public interface ImportProgressListener {
+        void onProgress(long bytesRead, long totalBytes);
+    }
 
     /**
      * Load armwrestlers from a CSV file
-     * Format: Name,Surname,Age,Hand
+     * Format: Name,Surname,Age,Hand[,Weight]
      *
      * @param filePath Path to the CSV file
      * @return List of Armwrestler objects
@@ -19,9 +41,10 @@ public class CSVLoader {
      * @throws IllegalArgumentException If CSV format is invalid
      */
     public static List<Armwrestler> loadFromCSV(String filePath) throws IOException {
+        long start = System.nanoTime();
         List<Armwrestler> armwrestlers = new ArrayList<>();
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath, CSV_CHARSET))) {
             String line;
             int lineNumber = 0;
 
@@ -30,7 +53,7 @@ public class CSVLoader {
                 line = line.trim();
 
                 // Skip empty lines and header lines
-                if (line.isEmpty() || line.toLowerCase().equals("name,surname,age,hand")) {
+                if (line.isEmpty() || isHeader(line)) {
                     continue;
                 }
 
@@ -43,12 +66,93 @@ public class CSVLoader {
             }
         }
 
+        EventMetrics.getDefault().recordImport(armwrestlers.size(), 0, System.nanoTime() - start);
         return armwrestlers;
     }
 
+    /**
+     * Import armwrestlers from a CSV file in a single streaming pass.
+     * Invalid rows are collected into the report instead of aborting the import,
+     * so every valid row is kept and all typos can be fixed in one go.
+     * Format: Name,Surname,Age,Hand[,Weight]
+     *
+     * @param filePath Path to the CSV file
+     * @param maxReportedErrors Maximum number of error messages kept in the report
+     * @param progressListener Receives progress every few thousand lines, may be null
+     * @return Import report with valid armwrestlers and row errors
+     * @throws IOException If file cannot be read
+     */
+    public static CSVImportReport importFromCSV(String filePath, int maxReportedErrors,
+                                                ImportProgressListener progressListener) throws IOException {
+        CSVImportReport report = new CSVImportReport(maxReportedErrors);
+        importFromCSV(filePath, report, progressListener, report::addArmwrestler);
+        return report;
+    }
+
+    /**
+     * Stream armwrestlers from a CSV file to a consumer without keeping them in memory
+     * (e.g. straight into category buckets). Row errors go to the report; the report's
+     * armwrestler list stays empty.
+     *
+     * @param filePath Path to the CSV file
+     * @param maxReportedErrors Maximum number of error messages kept in the report
+     * @param progressListener Receives progress every few thousand lines, may be null
+     * @param consumer Receives every valid row in file order
+     * @return Import report with row errors
+     * @throws IOException If file cannot be read
+     */
+    public static CSVImportReport importFromCSV(String filePath, int maxReportedErrors,
+                                                ImportProgressListener progressListener,
+                                                Consumer<Armwrestler> consumer) throws IOException {
+        CSVImportReport report = new CSVImportReport(maxReportedErrors);
+        importFromCSV(filePath, report, progressListener, consumer);
+        return report;
+    }
+
+    private static void importFromCSV(String filePath, CSVImportReport report, ImportProgressListener progressListener,
+                                      Consumer<Armwrestler> consumer) throws IOException {
+        long start = System.nanoTime();
+        File file = new File(filePath);
+        long totalBytes = file.length();
+        int rowsImported = 0;
+
+        try (CountingInputStream input = new CountingInputStream(new FileInputStream(file));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, CSV_CHARSET))) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+
+                if (progressListener != null && lineNumber % PROGRESS_INTERVAL_LINES == 0) {
+                    progressListener.onProgress(input.getCount(), totalBytes);
+                }
+
+                // Skip empty lines and header lines
+                if (line.isEmpty() || isHeader(line)) {
+                    continue;
+                }
+
+                try {
+                    consumer.accept(parseCSVLine(line));
+                    rowsImported++;
+                } catch (IllegalArgumentException e) {
+                    report.addError(lineNumber, e.getMessage());
+                }
+            }
+            report.setLinesRead(lineNumber);
+        }
+
+        if (progressListener != null) {
+            progressListener.onProgress(totalBytes, totalBytes);
+        }
+        EventMetrics.getDefault().recordImport(rowsImported, report.getErrorCount(), System.nanoTime() - start);
+    }
+
     /**
      * Parse a single CSV line into an Armwrestler object
-     * Format: Name,Surname,Age,Hand
+     * Format: Name,Surname,Age,Hand[,Weight]
      *
      * @param line CSV line to parse
      * @return Armwrestler object
@@ -57,8 +161,8 @@ public class CSVLoader {
     private static Armwrestler parseCSVLine(String line) {
         String[] parts = line.split(",");
 
-        if (parts.length != 4) {
-            throw new IllegalArgumentException("Expected 4 fields (Name,Surname,Age,Hand), got " + parts.length);
+        if (parts.length != 4 && parts.length != 5) {
+            throw new IllegalArgumentException(fieldCountMessage(parts.length));
         }
 
         String name = parts[0].trim();
@@ -68,10 +172,10 @@ public class CSVLoader {
 
         // Validate name and surname
         if (name.isEmpty()) {
-            throw new IllegalArgumentException("Name cannot be empty");
+            throw new IllegalArgumentException(EMPTY_NAME_MESSAGE);
         }
         if (surname.isEmpty()) {
-            throw new IllegalArgumentException("Surname cannot be empty");
+            throw new IllegalArgumentException(EMPTY_SURNAME_MESSAGE);
         }
 
         // Validate age
@@ -82,19 +186,61 @@ public class CSVLoader {
                 throw new NumberFormatException();
             }
         } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Age must be a number between 1 and 150, got: " + ageStr);
+            throw new IllegalArgumentException(ageMessage(ageStr));
         }
 
         // Validate hand
         if (!hand.equals("left") && !hand.equals("right")) {
-            throw new IllegalArgumentException("Hand must be 'left' or 'right', got: " + hand);
+            throw new IllegalArgumentException(handMessage(hand));
         }
 
+        // Validate optional weight
+        double weight = parts.length == 5 ? parseWeight(parts[4].trim()) : Armwrestler.NO_WEIGHT;
+
         // Capitalize names
         name = capitalizeFirstLetter(name);
         surname = capitalizeFirstLetter(surname);
 
-        return new Armwrestler(name, surname, age, hand);
+        Armwrestler armwrestler = new Armwrestler(name, surname, age, hand);
+        armwrestler.setWeight(weight);
+        return armwrestler;
+    }
+
+    /**
+     * @return Weight in kg
+     * @throws IllegalArgumentException If the weight is not a number between {@link #MIN_WEIGHT} and {@link #MAX_WEIGHT}
+     */
+    static double parseWeight(String weightStr) {
+        try {
+            double weight = Double.parseDouble(weightStr);
+            if (!(weight >= MIN_WEIGHT && weight <= MAX_WEIGHT)) {
+                throw new NumberFormatException();
+            }
+            return weight;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(weightMessage(weightStr));
+        }
+    }
+
+    static boolean isHeader(String trimmedLine) {
+        String lower = trimmedLine.toLowerCase();
+        return lower.equals("name,surname,age,hand") || lower.equals("name,surname,age,hand,weight");
+    }
+
+    static String fieldCountMessage(int count) {
+        return "Expected 4 or 5 fields (Name,Surname,Age,Hand[,Weight]), got " + count;
+    }
+
+    static String weightMessage(String weightStr) {
+        return "Weight must be a number between " + (int) MIN_WEIGHT + " and " + (int) MAX_WEIGHT + ", got: " + weightStr;
+    }
+
+    static String ageMessage(String ageStr) {
+        return "Age must be a number between 1 and 150, got: " + ageStr;
+    }
+
+    static String handMessage(String hand) {
+        return "Hand must be 'left' or 'right', got: " + hand;
     }
 
     /**
@@ -103,31 +249,168 @@ public class CSVLoader {
      * @param text Text to capitalize
      * @return Capitalized text
      */
-    private static String capitalizeFirstLetter(String text) {
+    static String capitalizeFirstLetter(String text) {
         if (text == null || text.isEmpty()) {
             return text;
         }
         return text.substring(0, 1).toUpperCase() + text.substring(1).toLowerCase();
     }
 
+    /**
+     * Input stream that counts consumed bytes for progress reporting
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
     /**
      * Save armwrestlers to a CSV file
-     * Format: Name,Surname,Age,Hand
+     * Format: Name,Surname,Age,Hand[,Weight]
      *
      * @param filePath Path to save the CSV file
      * @param armwrestlers List of armwrestlers to save
      * @throws IOException If file cannot be written
      */
     public static void saveToCSV(String filePath, List<Armwrestler> armwrestlers) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
+        try (BufferedCSVWriter writer = new BufferedCSVWriter(filePath)) {
             // Write header
-            writer.println("Name,Surname,Age,Hand");
+            writer.field("Name,Surname,Age,Hand,Weight").endRow();
 
-            // Write data rows
+            // Write data rows; the weight column is left out when no weight was registered
             for (Armwrestler w : armwrestlers) {
-                writer.printf("%s,%s,%d,%s%n", w.getName(), w.getSurname(), w.getAge(), w.getHand());
+                writeRegistrationFields(writer, w);
+                if (w.hasWeight()) {
+                    writer.comma().field(formatWeight(w.getWeight()));
+                }
+                writer.endRow();
             }
+            writer.commit();
         }
     }
-}
 
+    /**
+     * Save standings to a CSV file, in the order given
+     * Format: Name,Surname,Age,Hand,Wins,Losses,Status
+     *
+     * @param filePath Path to save the CSV file
+     * @param standings Armwrestlers in standings order
+     * @throws IOException If file cannot be written
+     */
+    public static void saveStandingsToCSV(String filePath, List<Armwrestler> standings) throws IOException {
+        try (BufferedCSVWriter writer = new BufferedCSVWriter(filePath)) {
+            writer.field("Name,Surname,Age,Hand,Wins,Losses,Status").endRow();
+
+            for (Armwrestler w : standings) {
+                writeRegistrationFields(writer, w);
+                writer.comma().field(w.getWins())
+                      .comma().field(w.getLosses())
+                      .comma().field(w.isEliminated() ? STATUS_ELIMINATED : STATUS_ACTIVE)
+                      .endRow();
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * Save player ratings to a CSV file
+     * Format: Name,Surname,Rating,Deviation,Matches
+     *
+     * @param filePath Path to save the CSV file
+     * @param ratings Ratings in the order given
+     * @throws IOException If file cannot be written
+     */
+    public static void saveRatingsToCSV(String filePath, List<RatingRecord> ratings) throws IOException {
+        try (BufferedCSVWriter writer = new BufferedCSVWriter(filePath)) {
+            writer.field(RATINGS_HEADER).endRow();
+
+            for (RatingRecord r : ratings) {
+                writer.field(r.getName()).comma()
+                      .field(r.getSurname()).comma()
+                      .field(Double.toString(r.getRating())).comma()
+                      .field(Double.toString(r.getDeviation())).comma()
+                      .field(r.getMatches())
+                      .endRow();
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * Load player ratings saved by {@link #saveRatingsToCSV(String, List)}
+     *
+     * @param filePath Path to the CSV file
+     * @return Ratings in file order
+     * @throws IOException If file cannot be read
+     * @throws IllegalArgumentException If CSV format is invalid
+     */
+    public static List<RatingRecord> loadRatingsFromCSV(String filePath) throws IOException {
+        List<RatingRecord> ratings = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath, CSV_CHARSET))) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.equalsIgnoreCase(RATINGS_HEADER)) {
+                    continue;
+                }
+
+                String[] parts = line.split(",");
+                try {
+                    if (parts.length != 5) {
+                        throw new IllegalArgumentException("Expected 5 fields (" + RATINGS_HEADER + "), got " + parts.length);
+                    }
+                    ratings.add(new RatingRecord(parts[0].trim(), parts[1].trim(), Double.parseDouble(parts[2].trim()),
+                                                 Double.parseDouble(parts[3].trim()), Integer.parseInt(parts[4].trim())));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Error on line " + lineNumber + ": invalid number in " + line);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Error on line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return ratings;
+    }
+
+    static String formatWeight(double weight) {
+        return weight == Math.rint(weight) ? Integer.toString((int) weight) : Double.toString(weight);
+    }
+
+    private static void writeRegistrationFields(BufferedCSVWriter writer, Armwrestler w) throws IOException {
+        writer.field(w.getName()).comma()
+              .field(w.getSurname()).comma()
+              .field(w.getAge()).comma()
+              .field(w.getHand());
+    }
+}
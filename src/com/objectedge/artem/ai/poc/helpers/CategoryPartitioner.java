@@ -0,0 +1,230 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Splits registrants into competition categories by hand, age band and (optionally) weight class.
+ * Age bands and weight classes are given as inclusive upper limits, e.g. age limits {18, 21}
+ * give the bands "-18", "19-21" and "22+". The category of a registrant is computed
+ * arithmetically from a precomputed age lookup table and a binary search over the weight
+ * limits, so a {@link Partition} can be fed straight from a streaming CSV import:
+ * <pre>
+ *   CategoryPartitioner.Partition partition = new CategoryPartitioner().newPartition();
+ *   CSVImportReport report = CSVLoader.importFromCSV(path, 100, null, partition);
+ *   Map&lt;String, List&lt;Armwrestler&gt;&gt; categories = partition.getCategories();
+ * </pre>
+ */
+public class CategoryPartitioner {
+    public static final int[] DEFAULT_AGE_LIMITS = {18, 21, 39, 49};
+    public static final double[] NO_WEIGHT_LIMITS = {};
+    public static final double[] DEFAULT_WEIGHT_LIMITS = {55, 60, 65, 70, 75, 80, 85, 90, 100, 110};
+
+    private static final String[] HAND_LABELS = {"Left", "Right"};
+    private static final String NO_WEIGHT_LABEL = "No weight";
+    private static final String NAME_SEPARATOR = " / ";
+    private static final int MAX_AGE = 150;
+
+    private final double[] weightLimits;
+    private final int ageBandCount;
+    private final int weightClassCount;
+    private final byte[] ageBandByAge;
+    private final String[] categoryNames;
+
+    /**
+     * Partition by hand and the default age bands, without weight classes
+     */
+    public CategoryPartitioner() {
+        this(DEFAULT_AGE_LIMITS, NO_WEIGHT_LIMITS);
+    }
+
+    /**
+     * @param ageLimits Inclusive upper age limit of every band but the last, ascending; empty for a single open band
+     * @param weightLimits Inclusive upper weight limit in kg of every class but the last, ascending;
+     *                     empty to ignore weight
+     * @throws IllegalArgumentException If the limits are not strictly ascending
+     */
+    public CategoryPartitioner(int[] ageLimits, double[] weightLimits) {
+        checkAscending(ageLimits);
+        double previous = 0;
+        for (double limit : weightLimits) {
+            if (!(limit > previous) || Double.isInfinite(limit)) {
+                throw new IllegalArgumentException("Weight limits must be positive and strictly ascending");
+            }
+            previous = limit;
+        }
+        if (ageLimits.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many age bands: " + (ageLimits.length + 1));
+        }
+
+        this.weightLimits = weightLimits.clone();
+        this.ageBandCount = ageLimits.length + 1;
+        // With weight limits there is one extra class for registrants without a weight
+        this.weightClassCount = weightLimits.length == 0 ? 1 : weightLimits.length + 2;
+
+        this.ageBandByAge = new byte[MAX_AGE + 1];
+        int band = 0;
+        for (int age = 0; age <= MAX_AGE; age++) {
+            while (band < ageLimits.length && age > ageLimits[band]) {
+                band++;
+            }
+            ageBandByAge[age] = (byte) band;
+        }
+
+        String[] ageLabels = buildAgeLabels(ageLimits);
+        String[] weightLabels = buildWeightLabels(this.weightLimits);
+        this.categoryNames = new String[HAND_LABELS.length * ageBandCount * weightClassCount];
+        for (int hand = 0; hand < HAND_LABELS.length; hand++) {
+            for (int age = 0; age < ageBandCount; age++) {
+                for (int weight = 0; weight < weightClassCount; weight++) {
+                    StringBuilder name = new StringBuilder(HAND_LABELS[hand]);
+                    if (ageLabels[age] != null) name.append(NAME_SEPARATOR).append(ageLabels[age]);
+                    if (weightLabels[weight] != null) name.append(NAME_SEPARATOR).append(weightLabels[weight]);
+                    categoryNames[(hand * ageBandCount + age) * weightClassCount + weight] = name.toString();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Number of possible categories, including ones that may end up empty
+     */
+    public int getCategoryCount() {
+        return categoryNames.length;
+    }
+
+    /**
+     * @return Category name for an index returned by {@link #categoryIndex(Armwrestler)}, e.g. "Right / 22-39 / -80kg"
+     */
+    public String getCategoryName(int index) {
+        return categoryNames[index];
+    }
+
+    /**
+     * @return Index of the armwrestler's category, in the range [0, getCategoryCount())
+     */
+    public int categoryIndex(Armwrestler armwrestler) {
+        int hand = "left".equals(armwrestler.getHand()) ? 0 : 1;
+        int age = armwrestler.getAge();
+        int ageBand = ageBandByAge[Math.max(0, Math.min(age, MAX_AGE))];
+        return (hand * ageBandCount + ageBand) * weightClassCount + weightClass(armwrestler);
+    }
+
+    /**
+     * Partition an in-memory registration list
+     *
+     * @return Non-empty categories in category order, each keeping the registration order
+     */
+    public Map<String, List<Armwrestler>> partition(List<Armwrestler> armwrestlers) {
+        Partition partition = newPartition();
+        for (Armwrestler armwrestler : armwrestlers) {
+            partition.accept(armwrestler);
+        }
+        return partition.getCategories();
+    }
+
+    public Partition newPartition() {
+        return new Partition();
+    }
+
+    private int weightClass(Armwrestler armwrestler) {
+        if (weightLimits.length == 0) {
+            return 0;
+        }
+        if (!armwrestler.hasWeight()) {
+            return weightLimits.length + 1;
+        }
+        // First class whose limit is not below the weight; the open class if there is none
+        double weight = armwrestler.getWeight();
+        int low = 0;
+        int high = weightLimits.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (weightLimits[mid] < weight) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void checkAscending(int[] ageLimits) {
+        int previous = 0;
+        for (int limit : ageLimits) {
+            if (limit <= previous || limit >= MAX_AGE) {
+                throw new IllegalArgumentException("Age limits must be strictly ascending and between 1 and " + (MAX_AGE - 1));
+            }
+            previous = limit;
+        }
+    }
+
+    private static String[] buildAgeLabels(int[] ageLimits) {
+        String[] labels = new String[ageLimits.length + 1];
+        if (ageLimits.length == 0) {
+            return labels;
+        }
+        labels[0] = "-" + ageLimits[0];
+        for (int i = 1; i < ageLimits.length; i++) {
+            labels[i] = (ageLimits[i - 1] + 1) + "-" + ageLimits[i];
+        }
+        labels[ageLimits.length] = (ageLimits[ageLimits.length - 1] + 1) + "+";
+        return labels;
+    }
+
+    private static String[] buildWeightLabels(double[] weightLimits) {
+        if (weightLimits.length == 0) {
+            return new String[1];
+        }
+        String[] labels = new String[weightLimits.length + 2];
+        for (int i = 0; i < weightLimits.length; i++) {
+            labels[i] = "-" + CSVLoader.formatWeight(weightLimits[i]) + "kg";
+        }
+        labels[weightLimits.length] = "+" + CSVLoader.formatWeight(weightLimits[weightLimits.length - 1]) + "kg";
+        labels[weightLimits.length + 1] = NO_WEIGHT_LABEL;
+        return labels;
+    }
+
+    /**
+     * Accumulates armwrestlers into category buckets in a single pass. Not thread-safe.
+     */
+    public class Partition implements Consumer<Armwrestler> {
+        private final List<List<Armwrestler>> buckets = new ArrayList<>(Collections.nCopies(categoryNames.length, null));
+        private int size;
+
+        @Override
+        public void accept(Armwrestler armwrestler) {
+            int index = categoryIndex(armwrestler);
+            List<Armwrestler> bucket = buckets.get(index);
+            if (bucket == null) {
+                bucket = new ArrayList<>();
+                buckets.set(index, bucket);
+            }
+            bucket.add(armwrestler);
+            size++;
+        }
+
+        /**
+         * @return Total number of armwrestlers added
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return Non-empty categories in category order (hand, then age band, then weight class),
+         *         each list ready to be passed to a new tournament
+         */
+        public Map<String, List<Armwrestler>> getCategories() {
+            Map<String, List<Armwrestler>> categories = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.size(); i++) {
+                List<Armwrestler> bucket = buckets.get(i);
+                if (bucket != null) {
+                    categories.put(categoryNames[i], bucket);
+                }
+            }
+            return categories;
+        }
+    }
+}
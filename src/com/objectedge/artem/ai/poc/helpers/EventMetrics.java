@@ -0,0 +1,227 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide counters and latency histograms of live event operations:
+ * result entry, round advancement, standings refresh, round rendering and CSV import.
+ * Recording is lock-free and safe from any thread. Once {@link #registerMBean()} was called
+ * the metrics can be watched with standard JDK tools such as JConsole or VisualVM under
+ * {@value #OBJECT_NAME}.
+ */
+public class EventMetrics implements EventMetricsMBean {
+    public static final String OBJECT_NAME = "com.objectedge.artem.ai.poc:type=EventMetrics";
+
+    private static final EventMetrics DEFAULT = new EventMetrics();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final AtomicLong matchesRecorded = new AtomicLong();
+    private final LatencyHistogram roundAdvance = new LatencyHistogram();
+    private final LatencyHistogram tableRefresh = new LatencyHistogram();
+    private final LatencyHistogram standingsUpdate = new LatencyHistogram();
+    private final LatencyHistogram roundRender = new LatencyHistogram();
+    private final AtomicLong csvImports = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicLong importNanos = new AtomicLong();
+    private volatile double lastImportRowsPerSecond;
+
+    /**
+     * @return The metrics shared by the whole application
+     */
+    public static EventMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Register the shared metrics with the platform MBean server; calling it again is harmless
+     *
+     * @return false if the MBean could not be registered
+     */
+    public static boolean registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(DEFAULT, new ObjectName(OBJECT_NAME));
+            return true;
+        } catch (InstanceAlreadyExistsException e) {
+            return true;
+        } catch (JMException e) {
+            return false;
+        }
+    }
+
+    public void recordMatch() {
+        matchesRecorded.incrementAndGet();
+    }
+
+    /**
+     * @param nanos Time spent computing the next round (or the end of the tournament)
+     */
+    public void recordRoundAdvance(long nanos) {
+        roundAdvance.record(nanos);
+    }
+
+    /**
+     * @param nanos Time spent re-ranking all participants for the standings table
+     */
+    public void recordTableRefresh(long nanos) {
+        tableRefresh.record(nanos);
+    }
+
+    /**
+     * @param nanos Time spent re-ranking only the wrestlers of a recorded result
+     */
+    public void recordStandingsUpdate(long nanos) {
+        standingsUpdate.record(nanos);
+    }
+
+    /**
+     * @param nanos Time spent building the components of one round tab
+     */
+    public void recordRoundRender(long nanos) {
+        roundRender.record(nanos);
+    }
+
+    /**
+     * @param rows Valid rows loaded
+     * @param rejectedRows Invalid rows skipped
+     * @param nanos Time spent on the whole import
+     */
+    public void recordImport(long rows, long rejectedRows, long nanos) {
+        csvImports.incrementAndGet();
+        rowsImported.addAndGet(rows);
+        rowsRejected.addAndGet(rejectedRows);
+        importNanos.addAndGet(nanos);
+        lastImportRowsPerSecond = rowsPerSecond(rows, nanos);
+    }
+
+    @Override
+    public long getMatchesRecorded() {
+        return matchesRecorded.get();
+    }
+
+    @Override
+    public long getRoundsAdvanced() {
+        return roundAdvance.getCount();
+    }
+
+    @Override
+    public double getRoundAdvanceP50Millis() {
+        return roundAdvance.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRoundAdvanceP99Millis() {
+        return roundAdvance.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRoundAdvanceMaxMillis() {
+        return roundAdvance.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getTableRefreshes() {
+        return tableRefresh.getCount();
+    }
+
+    @Override
+    public double getTableRefreshP50Millis() {
+        return tableRefresh.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTableRefreshP99Millis() {
+        return tableRefresh.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTableRefreshMaxMillis() {
+        return tableRefresh.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getStandingsUpdates() {
+        return standingsUpdate.getCount();
+    }
+
+    @Override
+    public double getStandingsUpdateP50Millis() {
+        return standingsUpdate.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getStandingsUpdateP99Millis() {
+        return standingsUpdate.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getRoundsRendered() {
+        return roundRender.getCount();
+    }
+
+    @Override
+    public double getRoundRenderP50Millis() {
+        return roundRender.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRoundRenderP99Millis() {
+        return roundRender.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getRoundRenderMaxMillis() {
+        return roundRender.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getCsvImports() {
+        return csvImports.get();
+    }
+
+    @Override
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    @Override
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    /**
+     * @return Valid rows per second over all imports so far
+     */
+    @Override
+    public double getRowsImportedPerSecond() {
+        return rowsPerSecond(rowsImported.get(), importNanos.get());
+    }
+
+    @Override
+    public double getLastImportRowsPerSecond() {
+        return lastImportRowsPerSecond;
+    }
+
+    @Override
+    public void reset() {
+        matchesRecorded.set(0);
+        roundAdvance.reset();
+        tableRefresh.reset();
+        standingsUpdate.reset();
+        roundRender.reset();
+        csvImports.set(0);
+        rowsImported.set(0);
+        rowsRejected.set(0);
+        importNanos.set(0);
+        lastImportRowsPerSecond = 0;
+    }
+
+    private static double rowsPerSecond(long rows, long nanos) {
+        return nanos > 0 ? rows * NANOS_PER_SECOND / nanos : 0;
+    }
+}
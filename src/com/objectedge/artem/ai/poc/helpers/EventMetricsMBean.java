@@ -0,0 +1,38 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+/**
+ * JMX view of {@link EventMetrics}. Times are in milliseconds; percentiles are approximate.
+ */
+public interface EventMetricsMBean {
+    long getMatchesRecorded();
+
+    long getRoundsAdvanced();
+    double getRoundAdvanceP50Millis();
+    double getRoundAdvanceP99Millis();
+    double getRoundAdvanceMaxMillis();
+
+    long getTableRefreshes();
+    double getTableRefreshP50Millis();
+    double getTableRefreshP99Millis();
+    double getTableRefreshMaxMillis();
+
+    long getStandingsUpdates();
+    double getStandingsUpdateP50Millis();
+    double getStandingsUpdateP99Millis();
+
+    long getRoundsRendered();
+    double getRoundRenderP50Millis();
+    double getRoundRenderP99Millis();
+    double getRoundRenderMaxMillis();
+
+    long getCsvImports();
+    long getRowsImported();
+    long getRowsRejected();
+    double getRowsImportedPerSecond();
+    double getLastImportRowsPerSecond();
+
+    /**
+     * Clear all counters and histograms, e.g. before the next event day
+     */
+    void reset();
+}
@@ -0,0 +1,260 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Virtualized list of the pairs of one section (read-only when created without a listener).
+ * All pairs share a single renderer component and only the visible pairs are painted,
+ * so a section costs a constant number of Swing components regardless of its size.
+ * Clicks are mapped back to the wrestler button of the clicked pair.
+ */
+public class MatchListView extends JList<Integer> {
+    private static final long serialVersionUID = 1L;
+    private static final Color HIGHLIGHT_COLOR = new Color(255, 0, 0);
+
+    private List<Armwrestler> wrestlers;
+    private boolean isTopSection;
+    private RoundOutcome roundOutcome;
+    private MatchPanelFactory.MatchSelectionListener listener;
+    private PairRenderer renderer;
+    private BitSet highlighted;
+    private boolean editable;
+    private int pressedIndex = -1;
+
+    public MatchListView(List<Armwrestler> wrestlers, boolean isTopSection, RoundOutcome roundOutcome,
+                         MatchPanelFactory.MatchSelectionListener listener) {
+        this.wrestlers = wrestlers;
+        this.isTopSection = isTopSection;
+        this.roundOutcome = roundOutcome;
+        this.listener = listener;
+        this.highlighted = new BitSet();
+        this.editable = listener != null;
+
+        int pairCount = (wrestlers.size() + 1) / 2;
+        setModel(new AbstractListModel<Integer>() {
+            @Override
+            public int getSize() {
+                return pairCount;
+            }
+
+            @Override
+            public Integer getElementAt(int index) {
+                return index;
+            }
+        });
+
+        renderer = new PairRenderer(pairCount > 1);
+        setCellRenderer(renderer);
+        setFocusable(false);
+        setOpaque(false);
+        setSelectionModel(new DefaultListSelectionModel() {
+            @Override
+            public void setSelectionInterval(int index0, int index1) {
+                // Pairs are not selectable, winners are picked with the wrestler buttons
+            }
+
+            @Override
+            public void addSelectionInterval(int index0, int index1) {
+            }
+        });
+
+        // Fixed cell size lets the list lay out and scroll without measuring every pair
+        if (pairCount > 0) {
+            Dimension cellSize = renderer.getListCellRendererComponent(this, 0, 0, false, false).getPreferredSize();
+            setFixedCellWidth(cellSize.width);
+            setFixedCellHeight(cellSize.height);
+        }
+        setAlignmentX(Component.LEFT_ALIGNMENT);
+        setMaximumSize(getPreferredSize());
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                pressedIndex = pairIndexAt(e.getPoint());
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int index = pairIndexAt(e.getPoint());
+                if (index >= 0 && index == pressedIndex) {
+                    handleClick(index, e.getPoint());
+                }
+                pressedIndex = -1;
+            }
+        });
+    }
+
+    public boolean isTopSection() {
+        return isTopSection;
+    }
+
+    /**
+     * Paint the pairs from another copy of the same round, e.g. an immutable snapshot
+     * while a worker thread changes the live round
+     */
+    public void showRound(List<Armwrestler> wrestlers, RoundOutcome roundOutcome) {
+        this.wrestlers = wrestlers;
+        this.roundOutcome = roundOutcome;
+        repaint();
+    }
+
+    /**
+     * Use the given bitset (owned by a {@link PairRegistry}) as the highlight state of the pairs
+     */
+    public void setHighlightedPairs(BitSet highlighted) {
+        this.highlighted = highlighted;
+        repaint();
+    }
+
+    public void repaintPair(int matchIndex) {
+        Rectangle bounds = getCellBounds(matchIndex, matchIndex);
+        if (bounds != null) {
+            repaint(bounds);
+        }
+    }
+
+    private int pairIndexAt(Point point) {
+        int index = locationToIndex(point);
+        if (index < 0) return -1;
+        Rectangle bounds = getCellBounds(index, index);
+        return (bounds != null && bounds.contains(point)) ? index : -1;
+    }
+
+    private void handleClick(int matchIndex, Point point) {
+        int idx1 = matchIndex * 2;
+        int idx2 = matchIndex * 2 + 1;
+        if (!editable || idx2 >= wrestlers.size()) return;
+
+        // Lay out the renderer for the clicked pair and find the button under the mouse
+        Rectangle bounds = getCellBounds(matchIndex, matchIndex);
+        Component cell = renderer.getListCellRendererComponent(this, matchIndex, matchIndex, false, false);
+        cell.setBounds(0, 0, bounds.width, bounds.height);
+        layoutTree(cell);
+        Component hit = SwingUtilities.getDeepestComponentAt(cell, point.x - bounds.x, point.y - bounds.y);
+
+        Armwrestler winner;
+        Armwrestler loser;
+        if (hit == renderer.button1) {
+            winner = wrestlers.get(idx1);
+            loser = wrestlers.get(idx2);
+        } else if (hit == renderer.button2) {
+            winner = wrestlers.get(idx2);
+            loser = wrestlers.get(idx1);
+        } else {
+            return;
+        }
+
+        listener.onWinnerSelected(winner.getId(), loser.getId(), matchIndex, isTopSection);
+        if (roundOutcome.hasWinner(matchIndex)) {
+            highlighted.clear(matchIndex);
+        }
+        repaint(bounds);
+    }
+
+    private static void layoutTree(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    /**
+     * Rubber-stamp renderer: the same components are reconfigured for every painted pair
+     */
+    private class PairRenderer implements ListCellRenderer<Integer> {
+        private final boolean needsPairWrapper;
+        private final JPanel cell;
+        private final JPanel pairWrapper;
+        private final JPanel matchPanel;
+        private final JPanel byePanel;
+        private final JButton button1;
+        private final JButton button2;
+        private final JButton byeButton;
+        private final javax.swing.border.TitledBorder pairBorder;
+        private final javax.swing.border.Border highlightBorder;
+
+        PairRenderer(boolean needsPairWrapper) {
+            this.needsPairWrapper = needsPairWrapper;
+
+            button1 = MatchPanelFactory.createWrestlerButton();
+            button2 = MatchPanelFactory.createWrestlerButton();
+            byeButton = MatchPanelFactory.createWrestlerButton();
+
+            matchPanel = new JPanel(new GridLayout(2, 1, 0, 5));
+            matchPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            matchPanel.setMaximumSize(new Dimension(300, 70));
+            matchPanel.setPreferredSize(new Dimension(300, 70));
+            matchPanel.setMinimumSize(new Dimension(300, 70));
+            matchPanel.add(button1);
+            matchPanel.add(button2);
+
+            byePanel = new JPanel();
+            byePanel.setLayout(new BoxLayout(byePanel, BoxLayout.Y_AXIS));
+            byePanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            byePanel.setMaximumSize(new Dimension(300, 50));
+            byePanel.setPreferredSize(new Dimension(300, 50));
+            byePanel.setMinimumSize(new Dimension(300, 50));
+            byePanel.add(byeButton);
+
+            pairBorder = BorderFactory.createTitledBorder("");
+            highlightBorder = BorderFactory.createLineBorder(HIGHLIGHT_COLOR, 3);
+            pairWrapper = new JPanel();
+            pairWrapper.setLayout(new BoxLayout(pairWrapper, BoxLayout.Y_AXIS));
+            pairWrapper.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            cell = new JPanel();
+            cell.setLayout(new BoxLayout(cell, BoxLayout.Y_AXIS));
+            cell.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+            if (needsPairWrapper) {
+                cell.add(pairWrapper);
+            }
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Integer> list, Integer value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            int matchIndex = value;
+            int idx1 = matchIndex * 2;
+            int idx2 = matchIndex * 2 + 1;
+            boolean isBye = idx2 >= wrestlers.size();
+
+            JPanel content;
+            if (isBye) {
+                MatchPanelFactory.updateWrestlerButton(byeButton, wrestlers.get(idx1), true);
+                content = byePanel;
+            } else {
+                int winnerId = roundOutcome.getWinnerId(matchIndex);
+                MatchPanelFactory.updateWrestlerButton(button1, wrestlers.get(idx1), winnerId == wrestlers.get(idx1).getId());
+                MatchPanelFactory.updateWrestlerButton(button2, wrestlers.get(idx2), winnerId == wrestlers.get(idx2).getId());
+                content = matchPanel;
+            }
+
+            Container holder = needsPairWrapper ? pairWrapper : cell;
+            if (holder.getComponentCount() == 0 || holder.getComponent(0) != content) {
+                holder.removeAll();
+                holder.add(content);
+            }
+
+            // Only pairs with a "Pair N" wrapper are highlighted, single matches keep their layout
+            if (needsPairWrapper) {
+                if (highlighted.get(matchIndex)) {
+                    pairWrapper.setBorder(highlightBorder);
+                } else {
+                    pairBorder.setTitle("Pair " + (matchIndex + 1));
+                    pairWrapper.setBorder(pairBorder);
+                }
+            }
+            return cell;
+        }
+    }
+}
@@ -1,88 +1,29 @@
 package com.objectedge.artem.ai.poc.helpers;
 
 import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
 import javax.swing.*;
 import java.awt.*;
 import java.util.*;
+import java.util.List;
 
 /**
  * Factory class for creating match panels with wrestler buttons
  */
 public class MatchPanelFactory {
 
-    public static JPanel createMatchPanel(Armwrestler wrestler1, Armwrestler wrestler2, int matchIndex,
-                                         boolean isTopSection, Map<Integer, Integer> roundOutcome,
-                                         MatchSelectionListener listener) {
-        JPanel matchPanel = new JPanel(new java.awt.GridLayout(2, 1, 0, 5));
-        matchPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        matchPanel.setMaximumSize(new Dimension(300, 70));
-        matchPanel.setPreferredSize(new Dimension(300, 70));
-        matchPanel.setMinimumSize(new Dimension(300, 70));
-
-        Integer winnerId = roundOutcome.get(matchIndex);
-
-        JButton button1 = new JButton();
-        JButton button2 = new JButton();
-
-        // Set fixed size to prevent resizing - strict constraints
-        Dimension buttonSize = new Dimension(280, 30);
-        button1.setPreferredSize(buttonSize);
-        button1.setMinimumSize(buttonSize);
-        button1.setMaximumSize(buttonSize);
-        button1.setSize(buttonSize);
-
-        button2.setPreferredSize(buttonSize);
-        button2.setMinimumSize(buttonSize);
-        button2.setMaximumSize(buttonSize);
-        button2.setSize(buttonSize);
-
-        updateWrestlerButton(button1, wrestler1, winnerId != null && winnerId == wrestler1.getId());
-        updateWrestlerButton(button2, wrestler2, winnerId != null && winnerId == wrestler2.getId());
-
-        button1.addActionListener(e -> {
-            listener.onWinnerSelected(wrestler1.getId(), wrestler2.getId(), matchIndex, button1, button2, isTopSection);
-            // Immediately update button appearances without layout recalculation
-            button1.revalidate();
-            button2.revalidate();
-        });
-        button2.addActionListener(e -> {
-            listener.onWinnerSelected(wrestler2.getId(), wrestler1.getId(), matchIndex, button1, button2, isTopSection);
-            // Immediately update button appearances without layout recalculation
-            button1.revalidate();
-            button2.revalidate();
-        });
-
-        matchPanel.add(button1);
-        matchPanel.add(button2);
-
-        return matchPanel;
-    }
-
-    public static JPanel createByePanel(Armwrestler wrestler) {
-        JPanel byePanel = new JPanel();
-        byePanel.setLayout(new BoxLayout(byePanel, BoxLayout.Y_AXIS));
-        byePanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        byePanel.setMaximumSize(new Dimension(300, 50));
-        byePanel.setPreferredSize(new Dimension(300, 50));
-        byePanel.setMinimumSize(new Dimension(300, 50));
-
-        JButton byeButton = new JButton();
-        // Set fixed size to prevent resizing - strict constraints
-        Dimension buttonSize = new Dimension(280, 30);
-        byeButton.setPreferredSize(buttonSize);
-        byeButton.setMinimumSize(buttonSize);
-        byeButton.setMaximumSize(buttonSize);
-        byeButton.setSize(buttonSize);
-
-        updateWrestlerButton(byeButton, wrestler, true);
-        byePanel.add(byeButton);
-        byeButton.setEnabled(true);
-
-        return byePanel;
+    /**
+     * Create a virtualized list of the pairs of one section
+     *
+     * @param listener Winner selection listener, or null for a read-only list
+     */
+    public static MatchListView createMatchList(List<Armwrestler> wrestlers, boolean isTopSection,
+                                                RoundOutcome roundOutcome, MatchSelectionListener listener) {
+        return new MatchListView(wrestlers, isTopSection, roundOutcome, listener);
     }
 
     public static JPanel createFinalMatchPanel(Armwrestler topChamp, Armwrestler bottomChamp,
-                                              Map<Integer, Integer> roundOutcome,
+                                              RoundOutcome roundOutcome,
                                               FinalMatchSelectionListener listener) {
         JPanel finalMatchPanel = new JPanel();
         finalMatchPanel.setLayout(new BoxLayout(finalMatchPanel, BoxLayout.Y_AXIS));
@@ -91,7 +32,7 @@ public class MatchPanelFactory {
         finalMatchPanel.setPreferredSize(new Dimension(300, 70));
         finalMatchPanel.setMinimumSize(new Dimension(300, 70));
 
-        Integer finalWinnerId = roundOutcome.get(0);
+        int finalWinnerId = roundOutcome.getWinnerId(0);
 
         JButton buttonTopChamp = new JButton();
         JButton buttonBottomChamp = new JButton();
@@ -110,8 +51,8 @@ public class MatchPanelFactory {
         buttonBottomChamp.setSize(buttonSize);
         buttonBottomChamp.setAlignmentX(Component.LEFT_ALIGNMENT);
 
-        updateWrestlerButton(buttonTopChamp, topChamp, finalWinnerId != null && finalWinnerId == topChamp.getId());
-        updateWrestlerButton(buttonBottomChamp, bottomChamp, finalWinnerId != null && finalWinnerId == bottomChamp.getId());
+        updateWrestlerButton(buttonTopChamp, topChamp, finalWinnerId == topChamp.getId());
+        updateWrestlerButton(buttonBottomChamp, bottomChamp, finalWinnerId == bottomChamp.getId());
 
         buttonTopChamp.addActionListener(e -> {
             listener.onFinalWinnerSelected(topChamp.getId(), bottomChamp.getId(), buttonTopChamp, buttonBottomChamp);
@@ -131,7 +72,18 @@ public class MatchPanelFactory {
         return finalMatchPanel;
     }
 
-    private static void updateWrestlerButton(JButton button, Armwrestler wrestler, boolean isWinner) {
+    static JButton createWrestlerButton() {
+        JButton button = new JButton();
+        // Set fixed size to prevent resizing - strict constraints
+        Dimension buttonSize = new Dimension(280, 30);
+        button.setPreferredSize(buttonSize);
+        button.setMinimumSize(buttonSize);
+        button.setMaximumSize(buttonSize);
+        button.setSize(buttonSize);
+        return button;
+    }
+
+    static void updateWrestlerButton(JButton button, Armwrestler wrestler, boolean isWinner) {
         String baseName = wrestler.getName() + " " + wrestler.getSurname();
         String text;
 
@@ -154,7 +106,7 @@ public class MatchPanelFactory {
 
     // Listener interfaces
     public interface MatchSelectionListener {
-        void onWinnerSelected(int winnerId, int loserId, int matchIndex, JButton button1, JButton button2, boolean isTopSection);
+        void onWinnerSelected(int winnerId, int loserId, int matchIndex, boolean isTopSection);
     }
 
     public interface FinalMatchSelectionListener {
@@ -0,0 +1,117 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
+import javax.swing.*;
+import javax.swing.border.Border;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Registry of the pairs shown for the current round, keyed by (section, matchIndex).
+ * Gives O(1) access to the list cell of each pair and keeps the highlight state
+ * explicitly, so validation feedback costs time proportional to the number of
+ * incomplete or highlighted pairs instead of walking the component tree.
+ */
+public class PairRegistry {
+    private static final Color HIGHLIGHT_COLOR = new Color(255, 0, 0);
+
+    private final MatchListView[] matchLists = new MatchListView[2];
+    private final int[] pairCounts = new int[2];
+    private final RoundOutcome[] roundOutcomes = new RoundOutcome[2];
+    private final BitSet[] highlighted = {new BitSet(), new BitSet()};
+    private JPanel finalPanel;
+    private Border finalBorder;
+    private RoundOutcome finalOutcome;
+    private boolean finalHighlighted;
+
+    /**
+     * Register the match list of a section. Its pairs are rendered highlighted
+     * according to this registry.
+     */
+    public void registerSection(boolean isTopSection, MatchListView matchList, List<Armwrestler> wrestlers,
+                                RoundOutcome roundOutcome) {
+        int section = sectionIndex(isTopSection);
+        highlighted[section].clear();
+        matchLists[section] = matchList;
+        // Only pairs of two wrestlers can be incomplete, the trailing bye never is
+        pairCounts[section] = wrestlers.size() / 2;
+        roundOutcomes[section] = roundOutcome;
+        matchList.setHighlightedPairs(highlighted[section]);
+    }
+
+    /**
+     * Register the panel of the final or super-final match; its own border is restored when
+     * the highlight is removed
+     */
+    public void registerFinal(JPanel panel, RoundOutcome roundOutcome) {
+        finalPanel = panel;
+        finalBorder = panel.getBorder();
+        finalOutcome = roundOutcome;
+        finalHighlighted = false;
+    }
+
+    /**
+     * Show a section of the round from another copy of the same round (see
+     * {@link MatchListView#showRound(List, RoundOutcome)}); the final, if any, is in the top section
+     */
+    public void showSection(boolean isTopSection, List<Armwrestler> wrestlers, RoundOutcome roundOutcome) {
+        int section = sectionIndex(isTopSection);
+        if (matchLists[section] != null) {
+            roundOutcomes[section] = roundOutcome;
+            matchLists[section].showRound(wrestlers, roundOutcome);
+        }
+        if (isTopSection && finalPanel != null) {
+            finalOutcome = roundOutcome;
+        }
+    }
+
+    public void clear() {
+        for (int section = 0; section < 2; section++) {
+            matchLists[section] = null;
+            roundOutcomes[section] = null;
+            pairCounts[section] = 0;
+            highlighted[section] = new BitSet();
+        }
+        finalPanel = null;
+        finalOutcome = null;
+        finalHighlighted = false;
+    }
+
+    /**
+     * Highlight the pairs of a section that have no winner, visiting only incomplete pairs
+     */
+    public void highlightIncompletePairs(boolean isTopSection) {
+        int section = sectionIndex(isTopSection);
+        RoundOutcome roundOutcome = roundOutcomes[section];
+        if (roundOutcome == null) return;
+
+        for (int i = roundOutcome.nextIncomplete(0); i < pairCounts[section]; i = roundOutcome.nextIncomplete(i + 1)) {
+            if (!highlighted[section].get(i)) {
+                highlighted[section].set(i);
+                matchLists[section].repaintPair(i);
+            }
+        }
+    }
+
+    public void highlightFinalIfIncomplete() {
+        if (finalPanel != null && !finalHighlighted && !finalOutcome.hasWinner(0)) {
+            finalPanel.setBorder(BorderFactory.createLineBorder(HIGHLIGHT_COLOR, 3));
+            finalHighlighted = true;
+        }
+    }
+
+    public void unhighlightFinal() {
+        if (finalPanel != null && finalHighlighted) {
+            finalPanel.setBorder(finalBorder);
+            finalPanel.revalidate();
+            finalPanel.repaint();
+            finalHighlighted = false;
+        }
+    }
+
+    private static int sectionIndex(boolean isTopSection) {
+        return isTopSection ? 0 : 1;
+    }
+}
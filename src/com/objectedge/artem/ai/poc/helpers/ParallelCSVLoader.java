@@ -0,0 +1,402 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.IdAllocator;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Loader for large registration CSV files.
+ * The file is memory-mapped and split into newline-aligned chunks that are parsed in
+ * parallel by a byte-level field scanner which allocates only the final name strings.
+ * Validation rules, error messages and line breaks ("\n", "\r" or "\r\n") are the same as
+ * {@link CSVLoader#loadFromCSV(String)}: the first invalid line (by line number) fails the whole load.
+ */
+public class ParallelCSVLoader {
+    // Smaller files load as fast with CSVLoader, which also reports every invalid row
+    public static final long MIN_FILE_SIZE = 16L * 1024 * 1024;
+    private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024;
+    private static final byte[] HEADER = "name,surname,age,hand".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEIGHT_HEADER = "name,surname,age,hand,weight".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LEFT = "left".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIGHT = "right".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Load armwrestlers from a CSV file using all available cores
+     * Format: Name,Surname,Age,Hand[,Weight]
+     *
+     * @param filePath Path to the CSV file
+     * @return List of Armwrestler objects in file order, with consecutive IDs
+     * @throws IOException If file cannot be read
+     * @throws IllegalArgumentException If CSV format is invalid
+     */
+    public static List<Armwrestler> loadFromCSV(String filePath) throws IOException {
+        CSVImportReport report = new CSVImportReport(0);
+        load(filePath, report);
+        return report.getArmwrestlers();
+    }
+
+    /**
+     * Import a large file for the registration form: parsed in parallel when every row is valid,
+     * otherwise streamed again by {@link CSVLoader#importFromCSV(String, int, CSVLoader.ImportProgressListener)}
+     * so that every invalid row is reported, not only the first
+     *
+     * @param filePath Path to the CSV file
+     * @param maxReportedErrors Maximum number of error messages kept in the report
+     * @param progressListener Receives progress, may be null
+     * @return Import report with valid armwrestlers and row errors
+     * @throws IOException If file cannot be read
+     */
+    public static CSVImportReport importFromCSV(String filePath, int maxReportedErrors,
+                                                CSVLoader.ImportProgressListener progressListener) throws IOException {
+        CSVImportReport report = new CSVImportReport(maxReportedErrors);
+        try {
+            load(filePath, report);
+        } catch (IllegalArgumentException e) {
+            return CSVLoader.importFromCSV(filePath, maxReportedErrors, progressListener);
+        }
+        if (progressListener != null) {
+            long size = Files.size(Paths.get(filePath));
+            progressListener.onProgress(size, size);
+        }
+        return report;
+    }
+
+    /**
+     * Add every row to the report, or fail on the first invalid one without adding any
+     */
+    private static void load(String filePath, CSVImportReport report) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long[] boundaries = splitIntoChunks(channel);
+            int chunkCount = boundaries.length - 1;
+
+            ChunkResult[] results = IntStream.range(0, chunkCount).parallel()
+                    .mapToObj(i -> parseChunk(channel, boundaries[i], boundaries[i + 1]))
+                    .toArray(ChunkResult[]::new);
+
+            // The earliest failing line wins, as with sequential fail-fast loading
+            long lineOffset = 0;
+            int total = 0;
+            int[] firstIndex = new int[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                ChunkResult result = results[i];
+                if (result.ioError != null) {
+                    throw result.ioError;
+                }
+                if (result.errorMessage != null) {
+                    throw new IllegalArgumentException("Error on line " + (lineOffset + result.errorLine) + ": " + result.errorMessage);
+                }
+                firstIndex[i] = total;
+                total += result.count;
+                lineOffset += result.lineCount;
+            }
+
+            int firstId = IdAllocator.getDefault().allocate(total);
+            Armwrestler[] armwrestlers = new Armwrestler[total];
+            IntStream.range(0, chunkCount).parallel().forEach(i -> {
+                ChunkResult result = results[i];
+                for (int k = 0; k < result.count; k++) {
+                    int index = firstIndex[i] + k;
+                    armwrestlers[index] = new Armwrestler(firstId + index, result.names[k], result.surnames[k],
+                                                          result.ages[k], result.left[k] ? "left" : "right");
+                    armwrestlers[index].setWeight(result.weights[k]);
+                }
+            });
+
+            report.addArmwrestlers(Arrays.asList(armwrestlers));
+            report.setLinesRead((int) lineOffset);
+            EventMetrics.getDefault().recordImport(total, 0, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Choose chunk boundaries so that every chunk starts at the beginning of a line;
+     * a "\r\n" line break is never split
+     */
+    private static long[] splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, (size + parallelism - 1) / parallelism));
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            long lineStart = findNextLineStart(channel, position, probe);
+            if (lineStart >= size) break;
+            if (lineStart > boundaries.get(boundaries.size() - 1)) {
+                boundaries.add(lineStart);
+            }
+            position = lineStart + chunkSize;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    private static long findNextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long pos = position;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) return channel.size();
+            for (int i = 0; i < read; i++) {
+                byte b = probe.get(i);
+                if (b == '\n') {
+                    return pos + i + 1;
+                }
+                if (b == '\r') {
+                    long next = pos + i + 1;
+                    return next < channel.size() && byteAt(channel, next) == '\n' ? next + 1 : next;
+                }
+            }
+            pos += read;
+        }
+    }
+
+    private static byte byteAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer single = ByteBuffer.allocate(1);
+        channel.read(single, position);
+        return single.get(0);
+    }
+
+    private static ChunkResult parseChunk(FileChannel channel, long start, long end) {
+        ChunkResult result = new ChunkResult();
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            result.ioError = e;
+            return result;
+        }
+
+        FieldScanner scanner = new FieldScanner();
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int lineNumber = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && !isLineBreak(buffer.get(lineEnd))) {
+                lineEnd++;
+            }
+            lineNumber++;
+
+            String error = scanner.parseLine(buffer, lineStart, lineEnd, result);
+            if (error != null) {
+                result.errorLine = lineNumber;
+                result.errorMessage = error;
+                return result;
+            }
+            lineStart = lineEnd + 1;
+            // "\r\n" is a single line break, as for BufferedReader
+            if (lineStart < limit && buffer.get(lineEnd) == '\r' && buffer.get(lineStart) == '\n') {
+                lineStart++;
+            }
+        }
+        result.lineCount = lineNumber;
+        return result;
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Parsed rows of one chunk, kept in primitive columns until IDs are assigned
+     */
+    private static class ChunkResult {
+        private String[] names = new String[256];
+        private String[] surnames = new String[256];
+        private int[] ages = new int[256];
+        private boolean[] left = new boolean[256];
+        private double[] weights = new double[256];
+        private int count;
+        private int lineCount;
+        private int errorLine;
+        private String errorMessage;
+        private IOException ioError;
+
+        void add(String name, String surname, int age, boolean isLeft, double weight) {
+            if (count == ages.length) {
+                int capacity = count * 2;
+                names = Arrays.copyOf(names, capacity);
+                surnames = Arrays.copyOf(surnames, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                left = Arrays.copyOf(left, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            names[count] = name;
+            surnames[count] = surname;
+            ages[count] = age;
+            left[count] = isLeft;
+            weights[count] = weight;
+            count++;
+        }
+    }
+
+    /**
+     * Byte-level scanner for one line: Name,Surname,Age,Hand[,Weight].
+     * Works on a reusable line buffer and only allocates the name and surname strings.
+     */
+    private static class FieldScanner {
+        private byte[] line = new byte[256];
+        private final int[] fieldStart = new int[5];
+        private final int[] fieldEnd = new int[5];
+
+        /**
+         * @return Error message for an invalid line, or null if the line was added or skipped
+         */
+        String parseLine(ByteBuffer buffer, int from, int to, ChunkResult result) {
+            int length = to - from;
+            if (length > line.length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                line[i] = buffer.get(from + i);
+            }
+
+            // Trim the line like String.trim()
+            int start = 0;
+            int end = length;
+            while (start < end && (line[start] & 0xFF) <= ' ') start++;
+            while (end > start && (line[end - 1] & 0xFF) <= ' ') end--;
+
+            // Skip empty lines and header lines
+            if (start == end || equalsIgnoreCase(start, end, HEADER) || equalsIgnoreCase(start, end, WEIGHT_HEADER)) {
+                return null;
+            }
+
+            // Split on commas; like String.split, trailing empty fields are dropped
+            int fieldCount = 0;
+            int fieldIndex = 0;
+            int fieldBegin = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || line[i] == ',') {
+                    if (fieldIndex < fieldStart.length) {
+                        fieldStart[fieldIndex] = fieldBegin;
+                        fieldEnd[fieldIndex] = i;
+                    }
+                    fieldIndex++;
+                    if (i > fieldBegin) fieldCount = fieldIndex;
+                    fieldBegin = i + 1;
+                }
+            }
+            if (fieldCount != 4 && fieldCount != 5) {
+                return CSVLoader.fieldCountMessage(fieldCount);
+            }
+
+            for (int f = 0; f < fieldCount; f++) {
+                trimField(f);
+            }
+
+            // Validate name and surname
+            if (fieldStart[0] == fieldEnd[0]) {
+                return CSVLoader.EMPTY_NAME_MESSAGE;
+            }
+            if (fieldStart[1] == fieldEnd[1]) {
+                return CSVLoader.EMPTY_SURNAME_MESSAGE;
+            }
+
+            // Validate age
+            int age = parseAge(fieldStart[2], fieldEnd[2]);
+            if (age < 1 || age > 150) {
+                return CSVLoader.ageMessage(decode(fieldStart[2], fieldEnd[2]));
+            }
+
+            // Validate hand
+            boolean isLeft = equalsIgnoreCase(fieldStart[3], fieldEnd[3], LEFT);
+            if (!isLeft && !equalsIgnoreCase(fieldStart[3], fieldEnd[3], RIGHT)) {
+                return CSVLoader.handMessage(decode(fieldStart[3], fieldEnd[3]).toLowerCase());
+            }
+
+            // Validate optional weight; rare enough that the shared String-based parser is fine
+            double weight = Armwrestler.NO_WEIGHT;
+            if (fieldCount == 5) {
+                try {
+                    weight = CSVLoader.parseWeight(decode(fieldStart[4], fieldEnd[4]));
+                } catch (IllegalArgumentException e) {
+                    return e.getMessage();
+                }
+            }
+
+            result.add(capitalize(fieldStart[0], fieldEnd[0]), capitalize(fieldStart[1], fieldEnd[1]), age, isLeft, weight);
+            return null;
+        }
+
+        private void trimField(int f) {
+            int s = fieldStart[f];
+            int e = fieldEnd[f];
+            while (s < e && (line[s] & 0xFF) <= ' ') s++;
+            while (e > s && (line[e - 1] & 0xFF) <= ' ') e--;
+            fieldStart[f] = s;
+            fieldEnd[f] = e;
+        }
+
+        /**
+         * Same accepted syntax as Integer.parseInt; returns 0 for anything invalid
+         */
+        private int parseAge(int s, int e) {
+            if (s == e) return 0;
+            boolean negative = false;
+            if (line[s] == '-' || line[s] == '+') {
+                negative = line[s] == '-';
+                s++;
+                if (s == e) return 0;
+            }
+            long value = 0;
+            for (int i = s; i < e; i++) {
+                int digit = line[i] - '0';
+                if (digit < 0 || digit > 9) return 0;
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE) return 0;
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        private boolean equalsIgnoreCase(int s, int e, byte[] lowerAscii) {
+            if (e - s != lowerAscii.length) return false;
+            for (int i = 0; i < lowerAscii.length; i++) {
+                int b = line[s + i];
+                if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+                if (b != lowerAscii[i]) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Capitalize first letter, lower-case the rest (ASCII fast path without intermediate strings)
+         */
+        private String capitalize(int s, int e) {
+            for (int i = s; i < e; i++) {
+                if (line[i] < 0) {
+                    return CSVLoader.capitalizeFirstLetter(decode(s, e));
+                }
+            }
+            byte first = line[s];
+            if (first >= 'a' && first <= 'z') line[s] = (byte) (first - ('a' - 'A'));
+            for (int i = s + 1; i < e; i++) {
+                byte b = line[i];
+                if (b >= 'A' && b <= 'Z') line[i] = (byte) (b + ('a' - 'A'));
+            }
+            return new String(line, s, e - s, StandardCharsets.ISO_8859_1);
+        }
+
+        private String decode(int s, int e) {
+            return new String(line, s, e - s, StandardCharsets.UTF_8);
+        }
+    }
+}
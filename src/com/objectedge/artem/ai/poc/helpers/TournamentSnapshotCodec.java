@@ -0,0 +1,359 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
+import com.objectedge.artem.ai.poc.models.RoundSnapshot;
+import com.objectedge.artem.ai.poc.models.TournamentState;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Compact, versioned binary snapshot of a running tournament.
+ *
+ * Layout (all integers are unsigned LEB128 varints unless noted):
+ * <pre>
+ *   magic "ARMT" (4 bytes), version (1 byte), round flags (1 byte), currentRound
+ *   participantCount, then per participant: id, name, surname, age, hand (1 byte),
+ *                     weight in grams (version 3+, 0 = not registered), wins, losses
+ *   top section:    size, participant IDs
+ *   bottom section: size, participant IDs
+ *   top outcome:    decided match count, then (match index, winner ID) per decided match
+ *   bottom outcome: decided match count, then (match index, winner ID) per decided match
+ *   round history (version 2+): round count, then per played round, oldest first:
+ *                   round flags (1 byte), round number, top and bottom section, top and bottom outcome
+ * </pre>
+ * Strings are a varint byte length followed by UTF-8 bytes. Each Armwrestler is stored
+ * once; sections refer to participants by ID only. Snapshots of older versions decode
+ * without weights or with an empty round history.
+ */
+public class TournamentSnapshotCodec {
+    private static final byte[] MAGIC = {'A', 'R', 'M', 'T'};
+    private static final int VERSION = 3;
+    private static final int FIRST_VERSION_WITH_WEIGHT = 3;
+    private static final int FIRST_VERSION_WITH_HISTORY = 2;
+
+    private static final int FLAG_SEMIFINAL = 1;
+    private static final int FLAG_FINAL = 1 << 1;
+    private static final int FLAG_SUPER_FINAL = 1 << 2;
+
+    private static final int HAND_LEFT = 0;
+    private static final int HAND_RIGHT = 1;
+
+    /**
+     * A decoded snapshot: the current state and the rounds played before it
+     */
+    public static class Snapshot {
+        private final TournamentState state;
+        private final List<RoundSnapshot> roundHistory;
+
+        private Snapshot(TournamentState state, List<RoundSnapshot> roundHistory) {
+            this.state = state;
+            this.roundHistory = roundHistory;
+        }
+
+        public TournamentState getState() { return state; }
+        public List<RoundSnapshot> getRoundHistory() { return roundHistory; }
+    }
+
+    /**
+     * Write a snapshot to a file; the file is replaced atomically so a crash never leaves a torn snapshot
+     */
+    public static void save(TournamentState state, Path file) throws IOException {
+        save(encode(state), file);
+    }
+
+    /**
+     * Write an already encoded snapshot to a file, replacing it atomically
+     */
+    public static void save(byte[] snapshot, Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path tempFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                out.write(snapshot);
+                out.getFD().sync();
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Read a snapshot file back into a new TournamentState
+     *
+     * @throws IOException If the file cannot be read or is not a valid snapshot
+     */
+    public static TournamentState load(Path file) throws IOException {
+        return decode(Files.readAllBytes(file));
+    }
+
+    public static byte[] encode(TournamentState state) {
+        return encode(state, Collections.emptyList());
+    }
+
+    /**
+     * @param roundHistory Snapshots of the rounds played before the current one, oldest first
+     */
+    public static byte[] encode(TournamentState state, List<RoundSnapshot> roundHistory) {
+        List<Armwrestler> participants = state.getAllParticipants();
+        Output out = new Output(64 + participants.size() * 32);
+
+        out.writeBytes(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(roundFlags(state.isSemifinal(), state.isFinal(), state.isSuperFinal()));
+        out.writeVarInt(state.getCurrentRound());
+
+        out.writeVarInt(participants.size());
+        for (Armwrestler w : participants) {
+            out.writeVarInt(w.getId());
+            out.writeString(w.getName());
+            out.writeString(w.getSurname());
+            out.writeVarInt(w.getAge());
+            out.writeByte("left".equals(w.getHand()) ? HAND_LEFT : HAND_RIGHT);
+            out.writeVarInt((int) Math.round(w.getWeight() * 1000));
+            out.writeVarInt(w.getWins());
+            out.writeVarInt(w.getLosses());
+        }
+
+        writeSection(out, state.getTopSectionWrestlers());
+        writeSection(out, state.getBottomSectionWrestlers());
+        writeOutcome(out, state.getTopRoundOutcome());
+        writeOutcome(out, state.getBottomRoundOutcome());
+
+        out.writeVarInt(roundHistory.size());
+        for (RoundSnapshot round : roundHistory) {
+            out.writeByte(roundFlags(round.isSemifinal(), round.isFinal(), round.isSuperFinal()));
+            out.writeVarInt(round.getRoundNumber());
+            writeSection(out, round.getTopSectionWrestlers());
+            writeSection(out, round.getBottomSectionWrestlers());
+            writeOutcome(out, round.getTopRoundOutcome());
+            writeOutcome(out, round.getBottomRoundOutcome());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode the current state of a snapshot, without its round history
+     *
+     * @throws IOException If the data is not a valid snapshot or has an unsupported version
+     */
+    public static TournamentState decode(byte[] data) throws IOException {
+        return decodeSnapshot(data).getState();
+    }
+
+    /**
+     * Decode the current state and the round history of a snapshot.
+     * History rounds refer to the same Armwrestler instances as the state.
+     *
+     * @throws IOException If the data is not a valid snapshot or has an unsupported version
+     */
+    public static Snapshot decodeSnapshot(byte[] data) throws IOException {
+        Input in = new Input(data);
+        for (byte b : MAGIC) {
+            if (in.readByte() != b) {
+                throw new IOException("Not a tournament snapshot");
+            }
+        }
+        int version = in.readByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int flags = in.readByte();
+        int currentRound = in.readVarInt();
+
+        int participantCount = in.readVarInt();
+        List<Armwrestler> participants = new ArrayList<>(participantCount);
+        for (int i = 0; i < participantCount; i++) {
+            int id = in.readVarInt();
+            String name = in.readString();
+            String surname = in.readString();
+            int age = in.readVarInt();
+            String hand = in.readByte() == HAND_LEFT ? "left" : "right";
+            Armwrestler w = new Armwrestler(id, name, surname, age, hand);
+            if (version >= FIRST_VERSION_WITH_WEIGHT) {
+                w.setWeight(in.readVarInt() / 1000.0);
+            }
+            w.setRecord(in.readVarInt(), in.readVarInt());
+            participants.add(w);
+        }
+
+        TournamentState state = new TournamentState();
+        state.setAllParticipants(participants);
+        readRound(in, state, state, flags, currentRound);
+
+        List<RoundSnapshot> roundHistory = new ArrayList<>();
+        if (version >= FIRST_VERSION_WITH_HISTORY) {
+            int roundCount = in.readVarInt();
+            // Each played round is read into a scratch state sharing the participants and captured
+            TournamentState round = new TournamentState();
+            round.setAllParticipants(participants);
+            for (int i = 0; i < roundCount; i++) {
+                int roundFlags = in.readByte();
+                readRound(in, state, round, roundFlags, in.readVarInt());
+                roundHistory.add(RoundSnapshot.capture(round));
+            }
+        }
+        return new Snapshot(state, roundHistory);
+    }
+
+    private static int roundFlags(boolean isSemifinal, boolean isFinal, boolean isSuperFinal) {
+        return (isSemifinal ? FLAG_SEMIFINAL : 0)
+             | (isFinal ? FLAG_FINAL : 0)
+             | (isSuperFinal ? FLAG_SUPER_FINAL : 0);
+    }
+
+    /**
+     * Read the sections and outcomes of a round into the target state
+     *
+     * @param participants State whose participants the sections refer to
+     */
+    private static void readRound(Input in, TournamentState participants, TournamentState target,
+                                  int flags, int roundNumber) throws IOException {
+        target.setTopSectionWrestlers(readSection(in, participants));
+        target.setBottomSectionWrestlers(readSection(in, participants));
+        target.setCurrentRound(roundNumber);
+        target.setSemifinal((flags & FLAG_SEMIFINAL) != 0);
+        target.setFinal((flags & FLAG_FINAL) != 0);
+        target.setSuperFinal((flags & FLAG_SUPER_FINAL) != 0);
+        target.clearRoundOutcomes();
+        readOutcome(in, target.getTopRoundOutcome(), target.getTopSectionWrestlers().size());
+        readOutcome(in, target.getBottomRoundOutcome(), target.getBottomSectionWrestlers().size());
+    }
+
+    private static void writeSection(Output out, List<Armwrestler> section) {
+        out.writeVarInt(section.size());
+        for (Armwrestler w : section) {
+            out.writeVarInt(w.getId());
+        }
+    }
+
+    private static List<Armwrestler> readSection(Input in, TournamentState state) throws IOException {
+        int size = in.readVarInt();
+        List<Armwrestler> section = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int id = in.readVarInt();
+            Armwrestler w = state.getParticipant(id);
+            if (w == null) {
+                throw new IOException("Corrupt snapshot: unknown participant ID " + id);
+            }
+            section.add(w);
+        }
+        return section;
+    }
+
+    private static void writeOutcome(Output out, RoundOutcome outcome) {
+        out.writeVarInt(outcome.size());
+        for (int i = outcome.nextCompleted(0); i >= 0; i = outcome.nextCompleted(i + 1)) {
+            out.writeVarInt(i);
+            out.writeVarInt(outcome.getWinnerId(i));
+        }
+    }
+
+    private static void readOutcome(Input in, RoundOutcome outcome, int sectionSize) throws IOException {
+        int matchCount = Math.max((sectionSize + 1) / 2, 1);
+        int decidedCount = in.readVarInt();
+        for (int i = 0; i < decidedCount; i++) {
+            int matchIndex = in.readVarInt();
+            if (matchIndex < 0 || matchIndex >= matchCount) {
+                throw new IOException("Corrupt snapshot: match index " + matchIndex + " out of range");
+            }
+            outcome.setWinner(matchIndex, in.readVarInt());
+        }
+    }
+
+    /**
+     * Growable byte array with varint and string encoding
+     */
+    private static class Output {
+        private byte[] buffer;
+        private int length;
+
+        Output(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+
+    /**
+     * Bounds-checked reader over a snapshot byte array
+     */
+    private static class Input {
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() throws IOException {
+            if (position >= data.length) {
+                throw new EOFException("Truncated snapshot");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Corrupt snapshot: malformed varint");
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt();
+            if (length < 0 || length > data.length - position) {
+                throw new EOFException("Truncated snapshot");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.objectedge.artem.ai.poc.helpers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+import java.util.*;
+
+/**
+ * Collects UI changes caused by rapid result entry and applies them at most once per
+ * frame interval. The first change starts a one-shot Swing timer; every change made before
+ * it fires joins the same batch. Changed wrestlers are deduplicated and handed to the
+ * flush listener together, changed components are revalidated and repainted once.
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public class UpdateCoalescer {
+    private final Timer timer;
+    private final FlushListener flushListener;
+    private final Set<Armwrestler> changedWrestlers = new LinkedHashSet<>();
+    private final Set<JComponent> changedComponents = new LinkedHashSet<>();
+
+    /**
+     * Receives the wrestlers changed since the previous flush
+     */
+    public interface FlushListener {
+        void onWrestlersChanged(Armwrestler[] changedWrestlers);
+    }
+
+    /**
+     * @param intervalMillis Longest time a change waits before it is shown, e.g. one frame
+     * @param flushListener Applies a batch of changed wrestlers (e.g. to the standings table)
+     */
+    public UpdateCoalescer(int intervalMillis, FlushListener flushListener) {
+        this.flushListener = flushListener;
+        this.timer = new Timer(intervalMillis, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    public void wrestlersChanged(Armwrestler... wrestlers) {
+        Collections.addAll(changedWrestlers, wrestlers);
+        schedule();
+    }
+
+    /**
+     * Components whose content changed and need a single revalidate and repaint
+     */
+    public void componentsChanged(JComponent... components) {
+        Collections.addAll(changedComponents, components);
+        schedule();
+    }
+
+    /**
+     * Apply pending changes now, e.g. before the whole view is rebuilt
+     */
+    public void flush() {
+        timer.stop();
+        if (!changedWrestlers.isEmpty()) {
+            Armwrestler[] wrestlers = changedWrestlers.toArray(new Armwrestler[0]);
+            changedWrestlers.clear();
+            flushListener.onWrestlersChanged(wrestlers);
+        }
+        for (JComponent component : changedComponents) {
+            component.revalidate();
+            component.repaint();
+        }
+        changedComponents.clear();
+    }
+
+    private void schedule() {
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+}
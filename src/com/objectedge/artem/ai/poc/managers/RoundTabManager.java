@@ -1,9 +1,15 @@
 package com.objectedge.artem.ai.poc.managers;
 
+import com.objectedge.artem.ai.poc.engine.TournamentEngine;
 import com.objectedge.artem.ai.poc.forms.RoundTab;
 import com.objectedge.artem.ai.poc.models.Armwrestler;
+import com.objectedge.artem.ai.poc.models.RoundOutcome;
+import com.objectedge.artem.ai.poc.models.RoundSnapshot;
 import com.objectedge.artem.ai.poc.models.TournamentState;
+import com.objectedge.artem.ai.poc.helpers.EventMetrics;
+import com.objectedge.artem.ai.poc.helpers.MatchListView;
 import com.objectedge.artem.ai.poc.helpers.MatchPanelFactory;
+import com.objectedge.artem.ai.poc.helpers.PairRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -11,248 +17,338 @@ import java.util.*;
 import java.util.List;
 
 /**
- * Manages round tabs and provides navigation between rounds
+ * Manages round tabs and provides navigation between rounds.
+ * Only the current round is backed by the live tournament state. Past rounds are
+ * lightweight placeholders that rebuild their content from the engine's round
+ * snapshots when selected; at most {@link #MAX_MATERIALIZED_PAST_ROUNDS} of them keep
+ * their components, the least recently viewed one is cleared first.
  */
 public class RoundTabManager {
+    private static final int MAX_MATERIALIZED_PAST_ROUNDS = 3;
+    private static final MatchPanelFactory.FinalMatchSelectionListener READ_ONLY_FINAL_LISTENER =
+            (winnerId, loserId, buttonWinner, buttonLoser) -> { };
+
     private JTabbedPane tabbedPane;
     private Map<Integer, RoundTab> roundTabs;
+    private Map<Integer, RoundTab> materializedPastTabs;
+    private TournamentEngine engine;
     private TournamentState state;
     private MatchPanelFactory.MatchSelectionListener matchListener;
     private MatchPanelFactory.FinalMatchSelectionListener finalListener;
-    private RoundDisplayManager roundDisplayManager;
     private int nextRoundNumber = 1;
+    private RoundTab currentTab;
+    private PairRegistry currentPairs = new PairRegistry();
+    private ResultAmendListener amendListener;
+
+    /**
+     * Listener for winner selections in past rounds; without one past rounds are read-only
+     */
+    public interface ResultAmendListener {
+        void onResultAmended(int roundNumber, boolean isTopSection, int matchIndex, int winnerId);
+        void onFinalResultAmended(int roundNumber, int winnerId);
+    }
 
-    public RoundTabManager(TournamentState state,
+    public RoundTabManager(TournamentEngine engine,
                           MatchPanelFactory.MatchSelectionListener matchListener,
                           MatchPanelFactory.FinalMatchSelectionListener finalListener) {
         this.tabbedPane = new JTabbedPane();
         this.roundTabs = new LinkedHashMap<>();
-        this.state = state;
+        this.materializedPastTabs = new LinkedHashMap<Integer, RoundTab>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, RoundTab> eldest) {
+                if (size() > MAX_MATERIALIZED_PAST_ROUNDS) {
+                    eldest.getValue().dematerialize();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.engine = engine;
+        this.state = engine.getState();
         this.matchListener = matchListener;
         this.finalListener = finalListener;
+
+        tabbedPane.addChangeListener(e -> onTabSelected());
     }
 
     public JTabbedPane getTabbedPane() {
         return tabbedPane;
     }
 
-    public void setRoundDisplayManager(RoundDisplayManager roundDisplayManager) {
-        this.roundDisplayManager = roundDisplayManager;
+    public void setResultAmendListener(ResultAmendListener amendListener) {
+        this.amendListener = amendListener;
     }
 
     public void createNewRound() {
+        // The previous round becomes a placeholder backed by its snapshot
+        if (currentTab != null) {
+            currentTab.setSnapshot(engine.getRoundSnapshot(currentTab.getRoundNumber()));
+            currentTab.dematerialize();
+        }
+        currentPairs = new PairRegistry();
+
         String roundLabel = getRoundLabel();
-        RoundTab tab = new RoundTab(nextRoundNumber, state, roundLabel, matchListener, finalListener);
+        RoundTab tab = new RoundTab(nextRoundNumber, roundLabel, matchListener, finalListener);
         roundTabs.put(nextRoundNumber, tab);
-
-        tabbedPane.addTab(roundLabel, tab);
-        tabbedPane.setSelectedIndex(tabbedPane.getTabCount() - 1);
+        currentTab = tab;
 
         // Display round content in the tab
         displayRoundInTab(tab);
 
+        tabbedPane.addTab(roundLabel, tab);
+        tabbedPane.setSelectedIndex(tabbedPane.getTabCount() - 1);
+
         nextRoundNumber++;
     }
 
+    /**
+     * Rebuild the tabs of a recovered tournament: one placeholder per completed round
+     * in the engine's history, followed by the current round unless the tournament is over
+     * (its history then already ends with the final)
+     */
+    public void restoreRounds() {
+        for (RoundSnapshot snapshot : engine.getRoundHistory()) {
+            String roundLabel = getRoundLabel(snapshot.isSuperFinal(), snapshot.isFinal(), snapshot.isSemifinal());
+            RoundTab tab = new RoundTab(nextRoundNumber, roundLabel, matchListener, finalListener);
+            tab.setSnapshot(snapshot);
+            roundTabs.put(nextRoundNumber, tab);
+            tabbedPane.addTab(roundLabel, tab);
+            nextRoundNumber++;
+        }
+        if (engine.isComplete()) {
+            tabbedPane.setSelectedIndex(tabbedPane.getTabCount() - 1);
+        } else {
+            createNewRound();
+        }
+    }
+
+    /**
+     * Drop all tabs and rebuild them from the engine, e.g. after results were undone or amended
+     */
+    public void rebuildRounds() {
+        currentTab = null;
+        tabbedPane.removeAll();
+        roundTabs.clear();
+        materializedPastTabs.clear();
+        nextRoundNumber = 1;
+        restoreRounds();
+    }
+
+    private void onTabSelected() {
+        Component selected = tabbedPane.getSelectedComponent();
+        if (!(selected instanceof RoundTab) || selected == currentTab) return;
+
+        RoundTab tab = (RoundTab) selected;
+        if (tab.getSnapshot() == null) return;
+
+        if (!tab.isMaterialized()) {
+            displayRound(tab, RoundContent.fromSnapshot(tab.getRoundNumber(), tab.getSnapshot()));
+        }
+        // Touch the tab so it becomes the most recently used one
+        materializedPastTabs.put(tab.getRoundNumber(), tab);
+    }
+
     private void displayRoundInTab(RoundTab tab) {
+        currentPairs.clear();
+        displayRound(tab, RoundContent.fromState(state));
+    }
+
+    private void displayRound(RoundTab tab, RoundContent round) {
+        long start = System.nanoTime();
         JPanel contentPanel = tab.getContentPanel();
         contentPanel.removeAll();
 
-
         // Display sections based on current stage
-        if (!state.isSemifinal() && !state.isFinal() && !state.isSuperFinal()) {
-            displayTopSection(contentPanel);
+        if (!round.isSemifinal && !round.isFinal && !round.isSuperFinal) {
+            displayTopSection(contentPanel, round);
         }
 
-        if (state.getBottomSectionWrestlers().size() > 0 && !state.isFinal() && !state.isSuperFinal()) {
-            displayBottomSection(contentPanel);
+        if (round.bottomSectionWrestlers.size() > 0 && !round.isFinal && !round.isSuperFinal) {
+            displayBottomSection(contentPanel, round);
         }
 
-        if ((state.isFinal() || state.isSuperFinal()) &&
-            state.getTopSectionWrestlers().size() == 1 &&
-            state.getBottomSectionWrestlers().size() == 1) {
-            displayFinalMatch(contentPanel);
+        if ((round.isFinal || round.isSuperFinal) &&
+            round.topSectionWrestlers.size() == 1 &&
+            round.bottomSectionWrestlers.size() == 1) {
+            displayFinalMatch(contentPanel, round);
         }
 
         contentPanel.add(Box.createVerticalGlue());
+        tab.setMaterialized(true);
         contentPanel.revalidate();
         contentPanel.repaint();
+        EventMetrics.getDefault().recordRoundRender(System.nanoTime() - start);
+    }
+
+    private void displayTopSection(JPanel panel, RoundContent round) {
+        // Section header for Round 2+ (but not Round 1)
+        String title = round.roundNumber > 1 ? "Top" : null;
+        displaySection(panel, title, round.topSectionWrestlers, true, round.topRoundOutcome, round);
     }
 
-    private void displayTopSection(JPanel panel) {
-        List<Armwrestler> wrestlers = state.getTopSectionWrestlers();
-        Map<Integer, Integer> roundOutcome = state.getTopRoundOutcome();
+    private void displayBottomSection(JPanel panel, RoundContent round) {
+        // Section header for Round 2+ (but not Round 1 or SEMIFINAL)
+        String title = (round.roundNumber > 1 && !round.isSemifinal) ? "Bottom" : null;
+        displaySection(panel, title, round.bottomSectionWrestlers, false, round.bottomRoundOutcome, round);
+    }
 
-        // Create section panel with header for Round 2+ (but not Round 1)
+    private void displaySection(JPanel panel, String title, List<Armwrestler> wrestlers,
+                                boolean isTopSection, RoundOutcome roundOutcome, RoundContent round) {
         JPanel sectionPanel = new JPanel();
         sectionPanel.setLayout(new BoxLayout(sectionPanel, BoxLayout.Y_AXIS));
         sectionPanel.setAlignmentX(JPanel.LEFT_ALIGNMENT);
-
-        if (state.getCurrentRound() > 1) {
-            sectionPanel.setBorder(BorderFactory.createTitledBorder("Top"));
+        if (title != null) {
+            sectionPanel.setBorder(BorderFactory.createTitledBorder(title));
         }
 
-        // Calculate if we need pair wrappers
-        int totalPairs = (int) Math.ceil(wrestlers.size() / 2.0);
-        boolean needsPairWrapper = totalPairs > 1;
-
-        for (int i = 0; i < wrestlers.size(); i += 2) {
-            int pairNumber = (i / 2) + 1;
-
-            if (i + 1 < wrestlers.size()) {
-                Armwrestler w1 = wrestlers.get(i);
-                Armwrestler w2 = wrestlers.get(i + 1);
-
-                if (needsPairWrapper) {
-                    JPanel pairWrapper = new JPanel();
-                    pairWrapper.setLayout(new BoxLayout(pairWrapper, BoxLayout.Y_AXIS));
-                    pairWrapper.setAlignmentX(JPanel.LEFT_ALIGNMENT);
-                    pairWrapper.setBorder(BorderFactory.createTitledBorder("Pair " + pairNumber));
-
-                    JPanel matchPanel = MatchPanelFactory.createMatchPanel(w1, w2, i / 2, true,
-                                                                          roundOutcome, matchListener);
-                    pairWrapper.add(matchPanel);
-                    sectionPanel.add(pairWrapper);
-                } else {
-                    JPanel matchPanel = MatchPanelFactory.createMatchPanel(w1, w2, i / 2, true,
-                                                                          roundOutcome, matchListener);
-                    sectionPanel.add(matchPanel);
-                }
-                sectionPanel.add(Box.createVerticalStrut(10));
-            } else {
-                Armwrestler w1 = wrestlers.get(i);
-                int matchIndex = i / 2;
-
-                if (needsPairWrapper) {
-                    JPanel pairWrapper = new JPanel();
-                    pairWrapper.setLayout(new BoxLayout(pairWrapper, BoxLayout.Y_AXIS));
-                    pairWrapper.setAlignmentX(JPanel.LEFT_ALIGNMENT);
-                    pairWrapper.setBorder(BorderFactory.createTitledBorder("Pair " + pairNumber));
-
-                    JPanel byePanel = MatchPanelFactory.createByePanel(w1);
-                    pairWrapper.add(byePanel);
-                    sectionPanel.add(pairWrapper);
-                } else {
-                    JPanel byePanel = MatchPanelFactory.createByePanel(w1);
-                    sectionPanel.add(byePanel);
-                }
-                sectionPanel.add(Box.createVerticalStrut(10));
-
-                // Auto-add bye pair outcome (wrestler with no pair gets automatic win)
-                if (!roundOutcome.containsKey(matchIndex)) {
-                    roundOutcome.put(matchIndex, w1.getId());
-                    w1.incrementWins();
-                }
-            }
+        // Pairs are rendered by a virtualized list: only visible pairs are painted.
+        // Past rounds are read-only unless results may be amended.
+        MatchListView matchList = MatchPanelFactory.createMatchList(wrestlers, isTopSection, roundOutcome,
+                                                                    getMatchListener(round));
+        sectionPanel.add(matchList);
+        if (round.isLive) {
+            currentPairs.registerSection(isTopSection, matchList, wrestlers, roundOutcome);
         }
 
         panel.add(sectionPanel);
         panel.add(Box.createVerticalStrut(15));
     }
 
-    private void displayBottomSection(JPanel panel) {
-        List<Armwrestler> wrestlers = state.getBottomSectionWrestlers();
-        Map<Integer, Integer> roundOutcome = state.getBottomRoundOutcome();
-
-        // Create section panel with header for Round 2+ (but not Round 1 or SEMIFINAL)
-        JPanel sectionPanel = new JPanel();
-        sectionPanel.setLayout(new BoxLayout(sectionPanel, BoxLayout.Y_AXIS));
-        sectionPanel.setAlignmentX(JPanel.LEFT_ALIGNMENT);
-
-        if (state.getCurrentRound() > 1 && !state.isSemifinal()) {
-            sectionPanel.setBorder(BorderFactory.createTitledBorder("Bottom"));
+    private void displayFinalMatch(JPanel panel, RoundContent round) {
+        Armwrestler topChamp = round.topSectionWrestlers.get(0);
+        Armwrestler bottomChamp = round.bottomSectionWrestlers.get(0);
+
+        MatchPanelFactory.FinalMatchSelectionListener listener = getFinalListener(round);
+        if (round.isLive) {
+            // Selecting a winner clears the highlight of an incomplete final
+            MatchPanelFactory.FinalMatchSelectionListener liveListener = listener;
+            listener = (winnerId, loserId, buttonWinner, buttonLoser) -> {
+                currentPairs.unhighlightFinal();
+                liveListener.onFinalWinnerSelected(winnerId, loserId, buttonWinner, buttonLoser);
+            };
         }
 
-        // ...existing code...
-        int totalPairs = (int) Math.ceil(wrestlers.size() / 2.0);
-        boolean needsPairWrapper = totalPairs > 1;
-
-        for (int i = 0; i < wrestlers.size(); i += 2) {
-            int pairNumber = (i / 2) + 1;
-
-            if (i + 1 < wrestlers.size()) {
-                Armwrestler w1 = wrestlers.get(i);
-                Armwrestler w2 = wrestlers.get(i + 1);
-
-                if (needsPairWrapper) {
-                    JPanel pairWrapper = new JPanel();
-                    pairWrapper.setLayout(new BoxLayout(pairWrapper, BoxLayout.Y_AXIS));
-                    pairWrapper.setAlignmentX(JPanel.LEFT_ALIGNMENT);
-                    pairWrapper.setBorder(BorderFactory.createTitledBorder("Pair " + pairNumber));
-
-                    JPanel matchPanel = MatchPanelFactory.createMatchPanel(w1, w2, i / 2, false,
-                                                                          roundOutcome, matchListener);
-                    pairWrapper.add(matchPanel);
-                    sectionPanel.add(pairWrapper);
-                } else {
-                    JPanel matchPanel = MatchPanelFactory.createMatchPanel(w1, w2, i / 2, false,
-                                                                          roundOutcome, matchListener);
-                    sectionPanel.add(matchPanel);
-                }
-                sectionPanel.add(Box.createVerticalStrut(10));
-            } else {
-                Armwrestler w1 = wrestlers.get(i);
-                int matchIndex = i / 2;
-
-                if (needsPairWrapper) {
-                    JPanel pairWrapper = new JPanel();
-                    pairWrapper.setLayout(new BoxLayout(pairWrapper, BoxLayout.Y_AXIS));
-                    pairWrapper.setAlignmentX(JPanel.LEFT_ALIGNMENT);
-                    pairWrapper.setBorder(BorderFactory.createTitledBorder("Pair " + pairNumber));
-
-                    JPanel byePanel = MatchPanelFactory.createByePanel(w1);
-                    pairWrapper.add(byePanel);
-                    sectionPanel.add(pairWrapper);
-                } else {
-                    JPanel byePanel = MatchPanelFactory.createByePanel(w1);
-                    sectionPanel.add(byePanel);
-                }
-                sectionPanel.add(Box.createVerticalStrut(10));
-
-                // Auto-add bye pair outcome only if not already set (wrestler with no pair gets automatic win)
-                if (!roundOutcome.containsKey(matchIndex)) {
-                    roundOutcome.put(matchIndex, w1.getId());
-                    w1.incrementWins();
-                }
-            }
+        JPanel finalMatchPanel = MatchPanelFactory.createFinalMatchPanel(topChamp, bottomChamp, round.topRoundOutcome,
+                                                                         listener);
+        if (round.isLive) {
+            currentPairs.registerFinal(finalMatchPanel, round.topRoundOutcome);
         }
-
-        panel.add(sectionPanel);
+        panel.add(finalMatchPanel);
         panel.add(Box.createVerticalStrut(15));
     }
 
-    private void displayFinalMatch(JPanel panel) {
-        Armwrestler topChamp = state.getTopSectionWrestlers().get(0);
-        Armwrestler bottomChamp = state.getBottomSectionWrestlers().get(0);
+    private MatchPanelFactory.MatchSelectionListener getMatchListener(RoundContent round) {
+        if (round.isLive) return matchListener;
+        if (amendListener == null) return null;
 
-        JPanel finalMatchPanel = MatchPanelFactory.createFinalMatchPanel(topChamp, bottomChamp,
-                                                                         state.getTopRoundOutcome(), finalListener);
-        panel.add(finalMatchPanel);
-        panel.add(Box.createVerticalStrut(15));
+        int tabRound = round.tabRoundNumber;
+        return (winnerId, loserId, matchIndex, isTopSection) ->
+                amendListener.onResultAmended(tabRound, isTopSection, matchIndex, winnerId);
+    }
+
+    private MatchPanelFactory.FinalMatchSelectionListener getFinalListener(RoundContent round) {
+        if (round.isLive) return finalListener;
+        if (amendListener == null) return READ_ONLY_FINAL_LISTENER;
+
+        int tabRound = round.tabRoundNumber;
+        return (winnerId, loserId, buttonWinner, buttonLoser) -> amendListener.onFinalResultAmended(tabRound, winnerId);
     }
 
     private String getRoundLabel() {
-        if (state.isSuperFinal()) {
+        return getRoundLabel(state.isSuperFinal(), state.isFinal(), state.isSemifinal());
+    }
+
+    private String getRoundLabel(boolean isSuperFinal, boolean isFinal, boolean isSemifinal) {
+        if (isSuperFinal) {
             return "SUPER-FINAL";
-        } else if (state.isFinal()) {
+        } else if (isFinal) {
             return "FINAL";
-        } else if (state.isSemifinal()) {
+        } else if (isSemifinal) {
             return "SEMIFINAL";
         } else {
             return "Round " + nextRoundNumber;
         }
     }
 
+    /**
+     * Highlight the pairs of the current round, or its final, that still have no winner
+     */
+    public void highlightIncompletePairs() {
+        currentPairs.highlightIncompletePairs(true);
+        currentPairs.highlightIncompletePairs(false);
+        currentPairs.highlightFinalIfIncomplete();
+    }
+
+    /**
+     * Point the views of the current round at an immutable snapshot of it, so they keep
+     * painting the round while a worker thread changes the live state. Call on the Event
+     * Dispatch Thread before the worker starts, and {@link #showLiveRound()} after it is done.
+     */
+    public void freezeCurrentRound() {
+        if (currentTab == null) return;
+        RoundSnapshot snapshot = RoundSnapshot.capture(state);
+        currentPairs.showSection(true, snapshot.getTopSectionWrestlers(), snapshot.getTopRoundOutcome());
+        currentPairs.showSection(false, snapshot.getBottomSectionWrestlers(), snapshot.getBottomRoundOutcome());
+    }
+
+    /**
+     * Point the views of the current round back at the live state, e.g. when the round
+     * could not be advanced; views created since then already show it
+     */
+    public void showLiveRound() {
+        if (currentTab == null) return;
+        currentPairs.showSection(true, state.getTopSectionWrestlers(), state.getTopRoundOutcome());
+        currentPairs.showSection(false, state.getBottomSectionWrestlers(), state.getBottomRoundOutcome());
+    }
+
     public void refreshCurrentTab() {
-        int selectedIndex = tabbedPane.getSelectedIndex();
-        if (selectedIndex >= 0) {
-            Component selectedComponent = tabbedPane.getComponentAt(selectedIndex);
-            if (selectedComponent instanceof RoundTab) {
-                RoundTab tab = (RoundTab) selectedComponent;
-                displayRoundInTab(tab);
-            }
+        if (currentTab != null) {
+            displayRoundInTab(currentTab);
         }
     }
-}
 
+    /**
+     * Round content to render, taken either from the live state or from a snapshot
+     */
+    private static class RoundContent {
+        private int tabRoundNumber;
+        private int roundNumber;
+        private boolean isSemifinal;
+        private boolean isFinal;
+        private boolean isSuperFinal;
+        private List<Armwrestler> topSectionWrestlers;
+        private List<Armwrestler> bottomSectionWrestlers;
+        private RoundOutcome topRoundOutcome;
+        private RoundOutcome bottomRoundOutcome;
+        private boolean isLive;
+
+        static RoundContent fromState(TournamentState state) {
+            RoundContent round = new RoundContent();
+            round.roundNumber = state.getCurrentRound();
+            round.isSemifinal = state.isSemifinal();
+            round.isFinal = state.isFinal();
+            round.isSuperFinal = state.isSuperFinal();
+            round.topSectionWrestlers = state.getTopSectionWrestlers();
+            round.bottomSectionWrestlers = state.getBottomSectionWrestlers();
+            round.topRoundOutcome = state.getTopRoundOutcome();
+            round.bottomRoundOutcome = state.getBottomRoundOutcome();
+            round.isLive = true;
+            return round;
+        }
 
+        static RoundContent fromSnapshot(int tabRoundNumber, RoundSnapshot snapshot) {
+            RoundContent round = new RoundContent();
+            round.tabRoundNumber = tabRoundNumber;
+            round.roundNumber = snapshot.getRoundNumber();
+            round.isSemifinal = snapshot.isSemifinal();
+            round.isFinal = snapshot.isFinal();
+            round.isSuperFinal = snapshot.isSuperFinal();
+            round.topSectionWrestlers = snapshot.getTopSectionWrestlers();
+            round.bottomSectionWrestlers = snapshot.getBottomSectionWrestlers();
+            round.topRoundOutcome = snapshot.getTopRoundOutcome();
+            round.bottomRoundOutcome = snapshot.getBottomRoundOutcome();
+            round.isLive = false;
+            return round;
+        }
+    }
+}
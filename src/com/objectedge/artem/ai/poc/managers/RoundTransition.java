@@ -0,0 +1,68 @@
+package com.objectedge.artem.ai.poc.managers;
+
+import com.objectedge.artem.ai.poc.engine.TournamentEngine;
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+
+/**
+ * Prepared result of a change to the tournament, computed off the Event Dispatch Thread
+ * and handed to it to apply: what the engine did plus the standings already re-ranked for
+ * the new state. Nothing in it is modified after it was prepared: the standings hold the
+ * records copied when they were ranked, and the table shows a copy of them.
+ */
+public class RoundTransition {
+    private final TournamentEngine.RoundAdvance advance;
+    private final StandingsRanking standings;
+    private final long activeWrestlerCount;
+    private final Armwrestler champion;
+    private final Armwrestler topFinalist;
+    private final Armwrestler bottomFinalist;
+
+    RoundTransition(TournamentEngine.RoundAdvance advance, StandingsRanking standings, long activeWrestlerCount,
+                    Armwrestler champion, Armwrestler topFinalist, Armwrestler bottomFinalist) {
+        this.advance = advance;
+        this.standings = standings;
+        this.activeWrestlerCount = activeWrestlerCount;
+        this.champion = champion;
+        this.topFinalist = topFinalist;
+        this.bottomFinalist = bottomFinalist;
+    }
+
+    /**
+     * @return What the round advance did, or null if the tournament was changed in another way (e.g. undo)
+     */
+    public TournamentEngine.RoundAdvance getAdvance() {
+        return advance;
+    }
+
+    /**
+     * @return Ranking of all participants after the change, or null if the standings did not change
+     */
+    public StandingsRanking getStandings() {
+        return standings;
+    }
+
+    public long getActiveWrestlerCount() {
+        return activeWrestlerCount;
+    }
+
+    /**
+     * @return Tournament winner, or null if the tournament is not complete
+     */
+    public Armwrestler getChampion() {
+        return champion;
+    }
+
+    /**
+     * @return Top section finalist of a final or super-final, or null in other stages
+     */
+    public Armwrestler getTopFinalist() {
+        return topFinalist;
+    }
+
+    /**
+     * @return Bottom section finalist of a final or super-final, or null in other stages
+     */
+    public Armwrestler getBottomFinalist() {
+        return bottomFinalist;
+    }
+}
@@ -0,0 +1,158 @@
+package com.objectedge.artem.ai.poc.managers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import java.util.*;
+
+/**
+ * Incrementally maintained tournament ranking.
+ * Order: active first, then wins descending, losses ascending, surname and finally ID.
+ * Each wrestler's ranking key is remembered in arrays indexed by its dense ID, so a
+ * changed wrestler is moved to its new position by shifting only the rows between
+ * its old and new position instead of re-sorting the whole field.
+ *
+ * The wins and losses a wrestler was ranked with are the values shown for it, so a ranking
+ * prepared on a worker thread can be displayed while the live records keep changing.
+ * Only the table manager modifies a ranking, and only one it has taken over with
+ * {@link #StandingsRanking(StandingsRanking)}.
+ */
+public class StandingsRanking {
+    private Armwrestler[] ranked = new Armwrestler[0];
+    private int size;
+    private int[] positions = new int[0];
+    private int[] keyWins = new int[0];
+    private int[] keyLosses = new int[0];
+
+    StandingsRanking() {
+    }
+
+    /**
+     * Copy of another ranking that can be changed independently
+     */
+    StandingsRanking(StandingsRanking other) {
+        this.ranked = other.ranked.clone();
+        this.size = other.size;
+        this.positions = other.positions.clone();
+        this.keyWins = other.keyWins.clone();
+        this.keyLosses = other.keyLosses.clone();
+    }
+
+    /**
+     * Rank all participants from scratch
+     */
+    void rebuild(List<Armwrestler> allParticipants) {
+        size = allParticipants.size();
+        ranked = allParticipants.toArray(new Armwrestler[0]);
+
+        int maxId = 0;
+        for (Armwrestler w : ranked) {
+            maxId = Math.max(maxId, w.getId());
+        }
+        ensureIdCapacity(maxId + 1);
+
+        for (Armwrestler w : ranked) {
+            keyWins[w.getId()] = w.getWins();
+            keyLosses[w.getId()] = w.getLosses();
+        }
+        Arrays.sort(ranked, this::compare);
+        for (int i = 0; i < size; i++) {
+            positions[ranked[i].getId()] = i;
+        }
+    }
+
+    /**
+     * Move a wrestler whose wins or losses changed to its new position
+     *
+     * @return Position of the wrestler before the update, or -1 if it is not ranked
+     */
+    int update(Armwrestler wrestler) {
+        int oldPosition = getPosition(wrestler);
+        if (oldPosition < 0) return -1;
+
+        int id = wrestler.getId();
+        keyWins[id] = wrestler.getWins();
+        keyLosses[id] = wrestler.getLosses();
+
+        int p = oldPosition;
+        while (p > 0 && compare(ranked[p - 1], wrestler) > 0) {
+            ranked[p] = ranked[p - 1];
+            positions[ranked[p].getId()] = p;
+            p--;
+        }
+        while (p < size - 1 && compare(ranked[p + 1], wrestler) < 0) {
+            ranked[p] = ranked[p + 1];
+            positions[ranked[p].getId()] = p;
+            p++;
+        }
+        ranked[p] = wrestler;
+        positions[id] = p;
+        return oldPosition;
+    }
+
+    /**
+     * @return Current position (0-based) of the wrestler, or -1 if it is not ranked
+     */
+    public int getPosition(Armwrestler wrestler) {
+        int id = wrestler.getId();
+        if (id >= positions.length) return -1;
+        int p = positions[id];
+        return (p < size && ranked[p] == wrestler) ? p : -1;
+    }
+
+    public Armwrestler get(int position) {
+        return ranked[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Wins the wrestler at the position was ranked with
+     */
+    public int getWins(int position) {
+        return keyWins[ranked[position].getId()];
+    }
+
+    /**
+     * @return Losses the wrestler at the position was ranked with
+     */
+    public int getLosses(int position) {
+        return keyLosses[ranked[position].getId()];
+    }
+
+    public boolean isEliminated(int position) {
+        return getLosses(position) >= 2;
+    }
+
+    private int compare(Armwrestler a, Armwrestler b) {
+        int lossesA = keyLosses[a.getId()];
+        int lossesB = keyLosses[b.getId()];
+        // Active wrestlers first
+        boolean eliminatedA = lossesA >= 2;
+        boolean eliminatedB = lossesB >= 2;
+        if (eliminatedA != eliminatedB) {
+            return eliminatedA ? 1 : -1;
+        }
+        // Then by wins descending
+        int winsA = keyWins[a.getId()];
+        int winsB = keyWins[b.getId()];
+        if (winsA != winsB) {
+            return Integer.compare(winsB, winsA);
+        }
+        // Then by losses ascending
+        if (lossesA != lossesB) {
+            return Integer.compare(lossesA, lossesB);
+        }
+        // Then by surname, ID keeps the order total
+        int bySurname = a.getSurname().compareTo(b.getSurname());
+        return bySurname != 0 ? bySurname : Integer.compare(a.getId(), b.getId());
+    }
+
+    private void ensureIdCapacity(int capacity) {
+        if (capacity > positions.length) {
+            positions = Arrays.copyOf(positions, capacity);
+            keyWins = Arrays.copyOf(keyWins, capacity);
+            keyLosses = Arrays.copyOf(keyLosses, capacity);
+        }
+    }
+}
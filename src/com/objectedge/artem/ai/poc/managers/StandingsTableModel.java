@@ -0,0 +1,117 @@
+package com.objectedge.artem.ai.poc.managers;
+
+import com.objectedge.artem.ai.poc.models.Armwrestler;
+import javax.swing.table.AbstractTableModel;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Table model for the tournament standings.
+ * Cells are read lazily from the {@link StandingsRanking} in getValueAt, so no row data
+ * is copied; wins and losses are the values the wrestlers were ranked with, never the live
+ * records. An optional filter is kept as an array of ranking positions.
+ */
+public class StandingsTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    private static final String[] COLUMN_NAMES = {"Rank", "Name", "Wins", "Losses", "Status"};
+    private static final String STATUS_ELIMINATED = "ELIMINATED";
+    private static final String STATUS_ACTIVE = "ACTIVE";
+
+    private StandingsRanking ranking;
+    private Predicate<Armwrestler> filter;
+    private int[] filteredPositions = new int[0];
+    private int filteredCount;
+
+    public StandingsTableModel(StandingsRanking ranking) {
+        this.ranking = ranking;
+    }
+
+    /**
+     * Show a newly built ranking in place of the current one
+     */
+    public void setRanking(StandingsRanking ranking) {
+        this.ranking = ranking;
+        rankingChanged();
+    }
+
+    /**
+     * Show only the wrestlers matching the filter (null shows everyone)
+     */
+    public void setFilter(Predicate<Armwrestler> filter) {
+        this.filter = filter;
+        rankingChanged();
+    }
+
+    /**
+     * Notify the table that the whole ranking was rebuilt
+     */
+    public void rankingChanged() {
+        if (filter != null) {
+            refilter();
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Notify the table that the ranking positions between first and last changed
+     */
+    public void rankingRangeChanged(int firstPosition, int lastPosition) {
+        if (filter != null) {
+            // Filtered rows shift when wrestlers enter or leave the filter
+            refilter();
+            fireTableDataChanged();
+        } else {
+            fireTableRowsUpdated(firstPosition, lastPosition);
+        }
+    }
+
+    public Armwrestler getWrestlerAt(int rowIndex) {
+        return ranking.get(filter != null ? filteredPositions[rowIndex] : rowIndex);
+    }
+
+    @Override
+    public int getRowCount() {
+        return filter != null ? filteredCount : ranking.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int position = filter != null ? filteredPositions[rowIndex] : rowIndex;
+        Armwrestler w = ranking.get(position);
+        switch (columnIndex) {
+            case 0: return position + 1;
+            case 1: return w.getFullName();
+            case 2: return ranking.getWins(position);
+            case 3: return ranking.getLosses(position);
+            case 4: return ranking.isEliminated(position) ? STATUS_ELIMINATED : STATUS_ACTIVE;
+            default: return null;
+        }
+    }
+
+    private void refilter() {
+        if (filteredPositions.length < ranking.size()) {
+            filteredPositions = new int[ranking.size()];
+        }
+        filteredCount = 0;
+        for (int i = 0; i < ranking.size(); i++) {
+            if (filter.test(ranking.get(i))) {
+                filteredPositions[filteredCount++] = i;
+            }
+        }
+    }
+}
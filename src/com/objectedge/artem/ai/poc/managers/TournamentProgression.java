@@ -1,14 +1,22 @@
 package com.objectedge.artem.ai.poc.managers;
 
+import com.objectedge.artem.ai.poc.engine.TournamentEngine;
+import com.objectedge.artem.ai.poc.helpers.EventMetrics;
 import com.objectedge.artem.ai.poc.models.Armwrestler;
 import com.objectedge.artem.ai.poc.models.TournamentState;
-import java.util.*;
+
+import java.util.List;
 
 /**
- * Handles tournament progression logic between rounds
+ * Translates tournament engine round transitions into UI callbacks.
+ * All bracket rules live in {@link TournamentEngine}.
+ *
+ * A transition is done in two steps so the expensive part can run off the Event Dispatch
+ * Thread: {@link #prepareNextRound()} advances the engine and re-ranks the standings on the
+ * calling thread, {@link #applyTransition(RoundTransition)} then only notifies the listener.
  */
 public class TournamentProgression {
-    private TournamentState state;
+    private TournamentEngine engine;
     private TournamentProgressionListener listener;
 
     public interface TournamentProgressionListener {
@@ -18,191 +26,77 @@ public class TournamentProgression {
         void onValidationFailed();
     }
 
-    public TournamentProgression(TournamentState state, TournamentProgressionListener listener) {
-        this.state = state;
+    public TournamentProgression(TournamentEngine engine, TournamentProgressionListener listener) {
+        this.engine = engine;
         this.listener = listener;
     }
 
+    /**
+     * Advance and apply in one go on the calling thread
+     */
     public void proceedToNextRound() {
-        if (!validateRoundComplete()) {
-            listener.onValidationFailed();
-            return;
-        }
-
-        List<Armwrestler> topWinners = new ArrayList<>();
-        List<Armwrestler> topLosers = new ArrayList<>();
-        List<Armwrestler> bottomWinners = new ArrayList<>();
-        List<Armwrestler> bottomLosers = new ArrayList<>();
-
-        buildWinnersAndLosers(topWinners, topLosers, bottomWinners, bottomLosers);
-
-        if (state.isSemifinal() && !state.isFinal()) {
-            handleSemifinalCompletion(bottomWinners, topLosers);
-            return;
-        }
-
-        if (state.isFinal() && !state.isSuperFinal()) {
-            handleFinalCompletion(topWinners, topLosers);
-            return;
-        }
-
-        if (state.isSuperFinal()) {
-            handleSuperFinalCompletion();
-            return;
-        }
-
-        int potentialBottomCount = bottomWinners.size() + topLosers.size();
-        if (topWinners.size() == 1 && potentialBottomCount == 2) {
-            goToSemifinal(topWinners, bottomWinners, topLosers);
-            return;
-        }
-
-        advanceToNextRound(topWinners, bottomWinners, topLosers);
-    }
-
-    private boolean validateRoundComplete() {
-        if (state.isSemifinal()) {
-            int bottomPairsCount = (int) Math.ceil(state.getBottomSectionWrestlers().size() / 2.0);
-            int outcomes = state.getBottomRoundOutcome().size();
-            return outcomes >= bottomPairsCount;
-        } else if (state.isFinal() || state.isSuperFinal()) {
-            return state.getTopRoundOutcome().containsKey(0);
-        } else {
-            List<Armwrestler> topWrestlers = state.getTopSectionWrestlers();
-            List<Armwrestler> bottomWrestlers = state.getBottomSectionWrestlers();
-
-            int topPairsCount = (int) Math.ceil(topWrestlers.size() / 2.0);
-            int bottomPairsCount = bottomWrestlers.isEmpty() ? 0 : (int) Math.ceil(bottomWrestlers.size() / 2.0);
-
-            int topOutcomes = state.getTopRoundOutcome().size();
-            int bottomOutcomes = state.getBottomRoundOutcome().size();
-
-            boolean topComplete = topOutcomes >= topPairsCount;
-            boolean bottomComplete = bottomWrestlers.isEmpty() || bottomOutcomes >= bottomPairsCount;
-
-            return topComplete && bottomComplete;
-        }
+        applyTransition(prepareNextRound());
     }
 
-    private void buildWinnersAndLosers(List<Armwrestler> topWinners, List<Armwrestler> topLosers,
-                                      List<Armwrestler> bottomWinners, List<Armwrestler> bottomLosers) {
-        if (!state.isSemifinal()) {
-            buildTopSectionResults(topWinners, topLosers);
+    /**
+     * Advance the engine to its next stage and rank the standings for it.
+     * Does not touch Swing, so it may run on a worker thread as long as nothing else
+     * uses the engine meanwhile.
+     */
+    public RoundTransition prepareNextRound() {
+        long start = System.nanoTime();
+        TournamentEngine.RoundAdvance advance = engine.advanceRound();
+        if (advance == TournamentEngine.RoundAdvance.INCOMPLETE) {
+            return new RoundTransition(advance, null, engine.getActiveWrestlerCount(), null, null, null);
         }
-        buildBottomSectionResults(bottomWinners, bottomLosers);
+        EventMetrics.getDefault().recordRoundAdvance(System.nanoTime() - start);
+        return prepareTransition(advance);
     }
 
-    private void buildTopSectionResults(List<Armwrestler> topWinners, List<Armwrestler> topLosers) {
-        List<Armwrestler> byeWinners = new ArrayList<>();
-
-        for (int i = 0; i < state.getTopSectionWrestlers().size(); i += 2) {
-            if (i + 1 < state.getTopSectionWrestlers().size()) {
-                Armwrestler w1 = state.getTopSectionWrestlers().get(i);
-                Armwrestler w2 = state.getTopSectionWrestlers().get(i + 1);
-                int matchIndex = i / 2;
-                Integer winnerId = state.getTopRoundOutcome().get(matchIndex);
-
-                Armwrestler winner = (winnerId != null && winnerId == w1.getId()) ? w1 : w2;
-                Armwrestler loser = (winner == w1) ? w2 : w1;
-
-                if (!winner.isEliminated()) topWinners.add(winner);
-                if (!loser.isEliminated()) topLosers.add(loser);
-            } else {
-                Armwrestler w1 = state.getTopSectionWrestlers().get(i);
-                if (!w1.isEliminated()) byeWinners.add(w1);
-            }
-        }
-
-        topWinners.addAll(0, byeWinners);
+    /**
+     * Rank the standings for the current engine state, e.g. after results were undone or amended.
+     * Like {@link #prepareNextRound()} it may run on a worker thread.
+     */
+    public RoundTransition prepareRefresh() {
+        return prepareTransition(null);
     }
 
-    private void buildBottomSectionResults(List<Armwrestler> bottomWinners, List<Armwrestler> bottomLosers) {
-        List<Armwrestler> byeWinners = new ArrayList<>();
-
-        for (int i = 0; i < state.getBottomSectionWrestlers().size(); i += 2) {
-            if (i + 1 < state.getBottomSectionWrestlers().size()) {
-                Armwrestler w1 = state.getBottomSectionWrestlers().get(i);
-                Armwrestler w2 = state.getBottomSectionWrestlers().get(i + 1);
-                int matchIndex = i / 2;
-                Integer winnerId = state.getBottomRoundOutcome().get(matchIndex);
-
-                Armwrestler winner = (winnerId != null && winnerId == w1.getId()) ? w1 : w2;
-                Armwrestler loser = (winner == w1) ? w2 : w1;
-
-                if (!winner.isEliminated()) bottomWinners.add(winner);
-                if (!loser.isEliminated()) bottomLosers.add(loser);
-            } else {
-                Armwrestler w1 = state.getBottomSectionWrestlers().get(i);
-                if (!w1.isEliminated()) byeWinners.add(w1);
-            }
+    /**
+     * Notify the listener about a prepared transition; call on the Event Dispatch Thread
+     */
+    public void applyTransition(RoundTransition transition) {
+        if (transition.getAdvance() == null) return;
+
+        switch (transition.getAdvance()) {
+            case INCOMPLETE:
+                listener.onValidationFailed();
+                break;
+            case NEXT_ROUND:
+                listener.onRoundDisplayRequested();
+                break;
+            case SUPER_FINAL:
+                listener.onSuperFinalInitiated(transition.getTopFinalist(), transition.getBottomFinalist());
+                listener.onRoundDisplayRequested();
+                break;
+            case COMPLETE:
+                listener.onTournamentComplete(transition.getChampion());
+                break;
         }
-
-        bottomWinners.addAll(0, byeWinners);
-    }
-
-    private void handleSemifinalCompletion(List<Armwrestler> bottomWinners, List<Armwrestler> topLosers) {
-        Armwrestler bottomWinner = bottomWinners.get(0);
-        Armwrestler topWinner = state.getTopSectionWrestlers().get(0);
-
-        state.setSemifinal(false);
-        state.setFinal(true);
-        state.setTopSectionWrestlers(new ArrayList<>(List.of(topWinner)));
-        state.setBottomSectionWrestlers(new ArrayList<>(List.of(bottomWinner)));
-        state.setCurrentRound(state.getCurrentRound() + 1);
-        state.clearRoundOutcomes();
-        listener.onRoundDisplayRequested();
     }
 
-    private void handleFinalCompletion(List<Armwrestler> topWinners, List<Armwrestler> topLosers) {
-        Armwrestler topFinalWinner = state.getTopSectionWrestlers().get(0);
-        Armwrestler bottomFinalWinner = state.getBottomSectionWrestlers().get(0);
-
-        Integer finalWinnerId = state.getTopRoundOutcome().get(0);
-        if (finalWinnerId == null) return;
-
-        Armwrestler finalWinner = (finalWinnerId == topFinalWinner.getId()) ? topFinalWinner : bottomFinalWinner;
-        Armwrestler finalLoser = (finalWinner == topFinalWinner) ? bottomFinalWinner : topFinalWinner;
-
-        if (finalWinner == bottomFinalWinner && bottomFinalWinner.getLosses() == 1) {
-            listener.onSuperFinalInitiated(finalWinner, finalLoser);
-            state.setFinal(false);
-            state.setSuperFinal(true);
-            state.setTopSectionWrestlers(new ArrayList<>(List.of(finalWinner)));
-            state.setBottomSectionWrestlers(new ArrayList<>(List.of(finalLoser)));
-            state.setCurrentRound(state.getCurrentRound() + 1);
-            state.clearRoundOutcomes();
-            listener.onRoundDisplayRequested();
-        } else {
-            listener.onTournamentComplete(finalWinner);
+    private RoundTransition prepareTransition(TournamentEngine.RoundAdvance advance) {
+        TournamentState state = engine.getState();
+        StandingsRanking standings = TournamentTableManager.rankStandings(state.getAllParticipants());
+
+        Armwrestler topFinalist = null;
+        Armwrestler bottomFinalist = null;
+        if (state.isFinal() || state.isSuperFinal()) {
+            List<Armwrestler> top = state.getTopSectionWrestlers();
+            List<Armwrestler> bottom = state.getBottomSectionWrestlers();
+            topFinalist = top.isEmpty() ? null : top.get(0);
+            bottomFinalist = bottom.isEmpty() ? null : bottom.get(0);
         }
-    }
-
-    private void handleSuperFinalCompletion() {
-        Armwrestler winner = state.getTopRoundOutcome().get(0) == state.getTopSectionWrestlers().get(0).getId() ?
-                            state.getTopSectionWrestlers().get(0) : state.getBottomSectionWrestlers().get(0);
-        listener.onTournamentComplete(winner);
-    }
-
-    private void goToSemifinal(List<Armwrestler> topWinners, List<Armwrestler> bottomWinners, List<Armwrestler> topLosers) {
-        state.setSemifinal(true);
-        state.setTopSectionWrestlers(new ArrayList<>(topWinners));
-        state.setBottomSectionWrestlers(new ArrayList<>());
-        state.getBottomSectionWrestlers().addAll(bottomWinners);
-        state.getBottomSectionWrestlers().addAll(topLosers);
-        state.setCurrentRound(state.getCurrentRound() + 1);
-        state.clearRoundOutcomes();
-        listener.onRoundDisplayRequested();
-    }
-
-    private void advanceToNextRound(List<Armwrestler> topWinners, List<Armwrestler> bottomWinners, List<Armwrestler> topLosers) {
-        state.setTopSectionWrestlers(new ArrayList<>(topWinners));
-        state.setBottomSectionWrestlers(new ArrayList<>());
-        state.getBottomSectionWrestlers().addAll(bottomWinners);
-        state.getBottomSectionWrestlers().addAll(topLosers);
-        state.setCurrentRound(state.getCurrentRound() + 1);
-        state.resetAllFlags();
-        state.clearRoundOutcomes();
-        listener.onRoundDisplayRequested();
+        return new RoundTransition(advance, standings, engine.getActiveWrestlerCount(),
+                                   engine.getChampion(), topFinalist, bottomFinalist);
     }
 }
-
@@ -1,25 +1,24 @@
 package com.objectedge.artem.ai.poc.managers;
 
+import com.objectedge.artem.ai.poc.helpers.CSVLoader;
+import com.objectedge.artem.ai.poc.helpers.EventMetrics;
 import com.objectedge.artem.ai.poc.models.Armwrestler;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import java.io.IOException;
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Manages the tournament table display and updates
  */
 public class TournamentTableManager {
     private JTable tournamentTable;
-    private DefaultTableModel tournamentTableModel;
+    private StandingsTableModel tournamentTableModel;
+    private StandingsRanking ranking;
 
     public TournamentTableManager() {
-        // Initialize table model with columns
-        tournamentTableModel = new DefaultTableModel(new Object[]{"Rank", "Name", "Wins", "Losses", "Status"}, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        ranking = new StandingsRanking();
+        tournamentTableModel = new StandingsTableModel(ranking);
         tournamentTable = new JTable(tournamentTableModel);
     }
 
@@ -27,50 +26,83 @@ public class TournamentTableManager {
         return tournamentTable;
     }
 
-    public DefaultTableModel getTableModel() {
+    public StandingsTableModel getTableModel() {
         return tournamentTableModel;
     }
 
+    /**
+     * Re-rank all participants and refresh the whole table.
+     * Used when the participant list changes or at round transitions.
+     */
     public void updateTable(List<Armwrestler> allParticipants) {
-        // Create a copy and sort
-        List<Armwrestler> sortedWrestlers = new ArrayList<>(allParticipants);
+        applyRanking(rankStandings(allParticipants));
+    }
+
+    /**
+     * Rank all participants into a new ranking without touching the table, so the sort
+     * can run on a worker thread. Show the result with {@link #applyRanking(StandingsRanking)}.
+     */
+    public static StandingsRanking rankStandings(List<Armwrestler> allParticipants) {
+        long start = System.nanoTime();
+        StandingsRanking standings = new StandingsRanking();
+        standings.rebuild(allParticipants);
+        EventMetrics.getDefault().recordTableRefresh(System.nanoTime() - start);
+        return standings;
+    }
 
-        // Sort by: active first, then by wins desc, then by losses asc, then by surname
-        sortedWrestlers.sort((a, b) -> {
-            // Active wrestlers first
-            if (a.isEliminated() != b.isEliminated()) {
-                return a.isEliminated() ? 1 : -1;
-            }
-            // Then by wins descending
-            if (a.getWins() != b.getWins()) {
-                return Integer.compare(b.getWins(), a.getWins());
-            }
-            // Then by losses ascending
-            if (a.getLosses() != b.getLosses()) {
-                return Integer.compare(a.getLosses(), b.getLosses());
-            }
-            // Finally by surname
-            return a.getSurname().compareTo(b.getSurname());
-        });
+    /**
+     * Show a ranking prepared by {@link #rankStandings(List)}; call on the Event Dispatch Thread.
+     * The table works on a copy, so the prepared ranking itself is never modified.
+     */
+    public void applyRanking(StandingsRanking standings) {
+        ranking = new StandingsRanking(standings);
+        tournamentTableModel.setRanking(ranking);
+    }
+
+    /**
+     * Re-rank only the wrestlers whose results changed and refresh the rows between
+     * their old and new positions
+     *
+     * @param changedWrestlers Wrestlers whose wins or losses changed
+     */
+    public void updateWrestlers(Armwrestler... changedWrestlers) {
+        long start = System.nanoTime();
+        int firstRow = Integer.MAX_VALUE;
+        int lastRow = -1;
+
+        for (Armwrestler w : changedWrestlers) {
+            int oldPosition = ranking.update(w);
+            if (oldPosition < 0) continue;
+            int newPosition = ranking.getPosition(w);
+            firstRow = Math.min(firstRow, Math.min(oldPosition, newPosition));
+            lastRow = Math.max(lastRow, Math.max(oldPosition, newPosition));
+        }
 
-        // Clear table
-        tournamentTableModel.setRowCount(0);
-        int rank = 1;
-        for (Armwrestler w : sortedWrestlers) {
-            String status = w.isEliminated() ? "ELIMINATED" : "ACTIVE";
-            tournamentTableModel.addRow(new Object[]{
-                rank,
-                w.getName() + " " + w.getSurname(),
-                w.getWins(),
-                w.getLosses(),
-                status
-            });
-            rank++;
+        if (lastRow >= 0) {
+            tournamentTableModel.rankingRangeChanged(firstRow, lastRow);
         }
+        EventMetrics.getDefault().recordStandingsUpdate(System.nanoTime() - start);
+    }
+
+    /**
+     * Show only the wrestlers matching the filter (null shows everyone)
+     */
+    public void setFilter(Predicate<Armwrestler> filter) {
+        tournamentTableModel.setFilter(filter);
+    }
+
+    /**
+     * Export the current standings, in rank order, to a CSV file
+     */
+    public void exportStandings(String filePath) throws IOException {
+        List<Armwrestler> standings = new ArrayList<>(ranking.size());
+        for (int i = 0; i < ranking.size(); i++) {
+            standings.add(ranking.get(i));
+        }
+        CSVLoader.saveStandingsToCSV(filePath, standings);
     }
 
     public long getActiveWrestlerCount(List<Armwrestler> allParticipants) {
         return allParticipants.stream().filter(p -> !p.isEliminated()).count();
     }
 }
-
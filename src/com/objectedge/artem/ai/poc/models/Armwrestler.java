@@ -1,16 +1,29 @@
 package com.objectedge.artem.ai.poc.models;
 
 public class Armwrestler {
+    public static final double NO_WEIGHT = 0;
+
     private int id;
     private String name;
     private String surname;
     private int age;
     private String hand; // "left" or "right"
+    private double weight = NO_WEIGHT; // kg, optional
     private int wins = 0;
     private int losses = 0;
+    private String fullName;
 
     public Armwrestler(String name, String surname, int age, String hand) {
-        this.id = generateRandomId();
+        this(IdAllocator.getDefault().nextId(), name, surname, age, hand);
+    }
+
+    /**
+     * Create an armwrestler with an already allocated ID (e.g. restored from a snapshot).
+     * The ID is reserved so the allocator never hands it out again.
+     */
+    public Armwrestler(int id, String name, String surname, int age, String hand) {
+        IdAllocator.getDefault().reserve(id);
+        this.id = id;
         this.name = name;
         this.surname = surname;
         this.age = age;
@@ -19,10 +32,6 @@ public class Armwrestler {
         this.losses = 0;
     }
 
-    private int generateRandomId() {
-        return (int) (Math.random() * 1000000) + 1;
-    }
-
     // Getters
     public int getId() {
         return id;
@@ -36,6 +45,16 @@ public class Armwrestler {
         return surname;
     }
 
+    /**
+     * @return "Name Surname", built once and cached until the name changes
+     */
+    public String getFullName() {
+        if (fullName == null) {
+            fullName = name + " " + surname;
+        }
+        return fullName;
+    }
+
     public int getAge() {
         return age;
     }
@@ -44,6 +63,17 @@ public class Armwrestler {
         return hand;
     }
 
+    /**
+     * @return Body weight in kg, or {@link #NO_WEIGHT} if it was not registered
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    public boolean hasWeight() {
+        return weight != NO_WEIGHT;
+    }
+
     public int getWins() {
         return wins;
     }
@@ -59,10 +89,12 @@ public class Armwrestler {
     // Setters
     public void setName(String name) {
         this.name = name;
+        this.fullName = null;
     }
 
     public void setSurname(String surname) {
         this.surname = surname;
+        this.fullName = null;
     }
 
     public void setAge(int age) {
@@ -73,6 +105,10 @@ public class Armwrestler {
         this.hand = hand;
     }
 
+    public void setWeight(double weight) {
+        this.weight = weight;
+    }
+
     // Win/Loss counters
     public void incrementWins() {
         this.wins++;
@@ -90,6 +126,14 @@ public class Armwrestler {
         if (this.losses > 0) this.losses--;
     }
 
+    /**
+     * Restore the win/loss record (e.g. when loading a snapshot)
+     */
+    public void setRecord(int wins, int losses) {
+        this.wins = wins;
+        this.losses = losses;
+    }
+
     @Override
     public String toString() {
         return "Armwrestler{" +
@@ -98,6 +142,7 @@ public class Armwrestler {
                 ", surname='" + surname + '\'' +
                 ", age=" + age +
                 ", hand='" + hand + '\'' +
+                ", weight=" + weight +
                 ", wins=" + wins +
                 ", losses=" + losses +
                 '}';
@@ -0,0 +1,54 @@
+package com.objectedge.artem.ai.poc.models;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe sequential allocator of dense, collision-free armwrestler IDs.
+ * IDs start at 1 (0 is reserved as "no wrestler"), so per-wrestler data can be
+ * kept in flat arrays indexed by ID.
+ */
+public class IdAllocator {
+    private static final IdAllocator DEFAULT = new IdAllocator();
+
+    private final AtomicInteger lastId = new AtomicInteger(0);
+
+    /**
+     * @return The allocator shared by all armwrestlers created in this process
+     */
+    public static IdAllocator getDefault() {
+        return DEFAULT;
+    }
+
+    public int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    /**
+     * Allocate a contiguous block of IDs
+     *
+     * @param count Number of IDs to allocate
+     * @return First ID of the block
+     */
+    public int allocate(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        return lastId.getAndAdd(count) + 1;
+    }
+
+    /**
+     * Make sure an externally assigned ID (e.g. restored from a snapshot) is never handed out again
+     *
+     * @param id ID already in use
+     */
+    public void reserve(int id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * @return Highest ID handed out or reserved so far
+     */
+    public int getLastId() {
+        return lastId.get();
+    }
+}
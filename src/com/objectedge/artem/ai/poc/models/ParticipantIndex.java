@@ -0,0 +1,157 @@
+package com.objectedge.artem.ai.poc.models;
+
+import java.util.*;
+
+/**
+ * ID-to-participant index with the current section placement of every wrestler.
+ * Open addressing over primitive int keys (0 marks an empty slot, IDs are positive),
+ * so lookups cost O(1) regardless of the field size. Section placement is
+ * versioned per section: placing a new round only touches the wrestlers of that
+ * round, stale placements from earlier rounds are ignored without being cleared.
+ */
+public class ParticipantIndex {
+    public static final int NO_SECTION = 0;
+    public static final int TOP_SECTION = 1;
+    public static final int BOTTOM_SECTION = 2;
+
+    private int[] keys;
+    private Armwrestler[] values;
+    private byte[] sections;
+    private int[] slots;
+    private int[] placementVersions;
+    private final int[] sectionVersions = new int[3];
+    private int size;
+
+    public ParticipantIndex() {
+        this(16);
+    }
+
+    public ParticipantIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        allocate(keys.length);
+    }
+
+    public void addAll(Collection<Armwrestler> wrestlers) {
+        if ((size + wrestlers.size()) * 2 > keys.length) {
+            rehash(tableSizeFor(size + wrestlers.size()));
+        }
+        for (Armwrestler w : wrestlers) {
+            add(w);
+        }
+    }
+
+    public void add(Armwrestler wrestler) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        int pos = probe(wrestler.getId());
+        if (keys[pos] == 0) {
+            keys[pos] = wrestler.getId();
+            size++;
+        }
+        values[pos] = wrestler;
+    }
+
+    public Armwrestler get(int id) {
+        if (id == 0) return null;
+        int pos = probe(id);
+        return keys[pos] == id ? values[pos] : null;
+    }
+
+    public boolean contains(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Record the current position of every wrestler of a section.
+     * Previous placements in that section become stale automatically.
+     *
+     * @param section {@link #TOP_SECTION} or {@link #BOTTOM_SECTION}
+     * @param wrestlers Section list in pairing order
+     */
+    public void placeSection(int section, List<Armwrestler> wrestlers) {
+        int version = ++sectionVersions[section];
+        for (int slot = 0; slot < wrestlers.size(); slot++) {
+            Armwrestler w = wrestlers.get(slot);
+            int pos = probe(w.getId());
+            if (keys[pos] == 0) {
+                add(w);
+                pos = probe(w.getId());
+            }
+            sections[pos] = (byte) section;
+            slots[pos] = slot;
+            placementVersions[pos] = version;
+        }
+    }
+
+    /**
+     * @return Position of the wrestler in the given section list, or -1 if not placed there
+     */
+    public int getSlot(int section, int id) {
+        if (id == 0) return -1;
+        int pos = probe(id);
+        if (keys[pos] != id || sections[pos] != section || placementVersions[pos] != sectionVersions[section]) {
+            return -1;
+        }
+        return slots[pos];
+    }
+
+    private int probe(int id) {
+        int mask = keys.length - 1;
+        int pos = mix(id) & mask;
+        while (keys[pos] != 0 && keys[pos] != id) {
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Armwrestler[] oldValues = values;
+        byte[] oldSections = sections;
+        int[] oldSlots = slots;
+        int[] oldVersions = placementVersions;
+
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int pos = probe(oldKeys[i]);
+                keys[pos] = oldKeys[i];
+                values[pos] = oldValues[i];
+                sections[pos] = oldSections[i];
+                slots[pos] = oldSlots[i];
+                placementVersions[pos] = oldVersions[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Armwrestler[capacity];
+        sections = new byte[capacity];
+        slots = new int[capacity];
+        placementVersions = new int[capacity];
+        size = 0;
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
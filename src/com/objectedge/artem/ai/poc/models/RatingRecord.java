@@ -0,0 +1,26 @@
+package com.objectedge.artem.ai.poc.models;
+
+/**
+ * Stored rating of a player, identified by name so it carries over between tournaments
+ */
+public class RatingRecord {
+    private final String name;
+    private final String surname;
+    private final double rating;
+    private final double deviation;
+    private final int matches;
+
+    public RatingRecord(String name, String surname, double rating, double deviation, int matches) {
+        this.name = name;
+        this.surname = surname;
+        this.rating = rating;
+        this.deviation = deviation;
+        this.matches = matches;
+    }
+
+    public String getName() { return name; }
+    public String getSurname() { return surname; }
+    public double getRating() { return rating; }
+    public double getDeviation() { return deviation; }
+    public int getMatches() { return matches; }
+}
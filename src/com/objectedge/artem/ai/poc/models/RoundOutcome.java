@@ -0,0 +1,224 @@
+package com.objectedge.artem.ai.poc.models;
+
+import java.util.*;
+
+/**
+ * Winners of the matches of one section in the current round.
+ * Stored densely by match index in primitive arrays with a completion bitset,
+ * so recording and reading results never boxes match indices or wrestler IDs.
+ *
+ * {@link #freeze()} gives an immutable copy that is cached until the outcome changes.
+ * Winner IDs are kept in fixed-size chunks that a frozen copy shares with the live outcome;
+ * a chunk is copied only when a result in it changes afterwards, so consecutive snapshots
+ * of a large round cost little more than the chunks written in between.
+ */
+public class RoundOutcome {
+    public static final int NO_WINNER = 0;
+
+    private static final int CHUNK_SHIFT = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Winner IDs by match index; every chunk but the last holds CHUNK_SIZE matches
+    private int[][] winnerChunks;
+    private int capacity;
+    private BitSet completed;
+    private int completedCount;
+    private int matchCount;
+    private final boolean frozen;
+
+    // Live outcomes only: the cached frozen copy and the chunks shared with frozen copies
+    private RoundOutcome frozenCopy;
+    private BitSet sharedChunks;
+
+    public RoundOutcome() {
+        this(8);
+    }
+
+    public RoundOutcome(int matchCount) {
+        this.winnerChunks = new int[0][];
+        this.completed = new BitSet();
+        this.sharedChunks = new BitSet();
+        this.frozen = false;
+        this.matchCount = matchCount;
+        ensureCapacity(Math.max(matchCount, 1));
+    }
+
+    /**
+     * Create an independent, modifiable copy of another outcome
+     */
+    public RoundOutcome(RoundOutcome other) {
+        this.winnerChunks = new int[other.winnerChunks.length][];
+        for (int i = 0; i < winnerChunks.length; i++) {
+            winnerChunks[i] = other.winnerChunks[i].clone();
+        }
+        this.capacity = other.capacity;
+        this.completed = (BitSet) other.completed.clone();
+        this.completedCount = other.completedCount;
+        this.matchCount = other.matchCount;
+        this.sharedChunks = new BitSet();
+        this.frozen = false;
+    }
+
+    private RoundOutcome(RoundOutcome live, boolean frozen) {
+        int chunkCount = chunkIndex(Math.max(live.matchCount, 1) - 1) + 1;
+        this.winnerChunks = Arrays.copyOf(live.winnerChunks, chunkCount);
+        this.capacity = capacityOf(winnerChunks);
+        this.completed = live.completed.get(0, live.matchCount);
+        this.completedCount = live.completedCount;
+        this.matchCount = live.matchCount;
+        this.frozen = frozen;
+    }
+
+    /**
+     * @return Immutable copy of this outcome; the same instance until the outcome changes
+     */
+    public RoundOutcome freeze() {
+        if (frozen) return this;
+        if (frozenCopy == null) {
+            frozenCopy = new RoundOutcome(this, true);
+            sharedChunks.set(0, frozenCopy.winnerChunks.length);
+        }
+        return frozenCopy;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public boolean hasWinner(int matchIndex) {
+        return matchIndex >= 0 && completed.get(matchIndex);
+    }
+
+    /**
+     * @return Winner ID of the match, or {@link #NO_WINNER} if not decided yet
+     */
+    public int getWinnerId(int matchIndex) {
+        return hasWinner(matchIndex) ? winnerChunks[chunkIndex(matchIndex)][matchIndex & CHUNK_MASK] : NO_WINNER;
+    }
+
+    public void setWinner(int matchIndex, int winnerId) {
+        checkModifiable();
+        ensureCapacity(matchIndex + 1);
+        matchCount = Math.max(matchCount, matchIndex + 1);
+        writeWinnerId(matchIndex, winnerId);
+        if (!completed.get(matchIndex)) {
+            completed.set(matchIndex);
+            completedCount++;
+        }
+    }
+
+    public void clearWinner(int matchIndex) {
+        checkModifiable();
+        if (hasWinner(matchIndex)) {
+            completed.clear(matchIndex);
+            writeWinnerId(matchIndex, NO_WINNER);
+            completedCount--;
+        }
+    }
+
+    /**
+     * @return Index of the first match at or after fromIndex without a winner
+     */
+    public int nextIncomplete(int fromIndex) {
+        return completed.nextClearBit(fromIndex);
+    }
+
+    /**
+     * @return Index of the first match at or after fromIndex with a winner, or -1 if there is none
+     */
+    public int nextCompleted(int fromIndex) {
+        return completed.nextSetBit(fromIndex);
+    }
+
+    /**
+     * @return Number of matches with a winner
+     */
+    public int size() {
+        return completedCount;
+    }
+
+    /**
+     * Forget all winners and make room for the given number of matches
+     *
+     * @param matchCount Number of matches in the upcoming round
+     */
+    public void reset(int matchCount) {
+        checkModifiable();
+        completed.clear();
+        completedCount = 0;
+        this.matchCount = matchCount;
+        ensureCapacity(matchCount);
+    }
+
+    public void clear() {
+        reset(0);
+    }
+
+    /**
+     * Replace all winners with those of another outcome.
+     * Copying from a frozen outcome shares its chunks until they are written.
+     */
+    public void copyFrom(RoundOutcome other) {
+        checkModifiable();
+        this.completed = (BitSet) other.completed.clone();
+        this.completedCount = other.completedCount;
+        this.matchCount = other.matchCount;
+        this.capacity = other.capacity;
+        this.sharedChunks.clear();
+        if (other.frozen) {
+            this.winnerChunks = other.winnerChunks.clone();
+            this.sharedChunks.set(0, winnerChunks.length);
+            this.frozenCopy = other;
+        } else {
+            this.winnerChunks = new int[other.winnerChunks.length][];
+            for (int i = 0; i < winnerChunks.length; i++) {
+                winnerChunks[i] = other.winnerChunks[i].clone();
+            }
+        }
+    }
+
+    private void checkModifiable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("A frozen round outcome cannot be modified");
+        }
+        frozenCopy = null;
+    }
+
+    private void writeWinnerId(int matchIndex, int winnerId) {
+        int chunk = chunkIndex(matchIndex);
+        if (sharedChunks.get(chunk)) {
+            winnerChunks[chunk] = winnerChunks[chunk].clone();
+            sharedChunks.clear(chunk);
+        }
+        winnerChunks[chunk][matchIndex & CHUNK_MASK] = winnerId;
+    }
+
+    private void ensureCapacity(int matchCount) {
+        if (matchCount <= capacity) return;
+
+        int newCapacity = Math.max(matchCount, capacity * 2);
+        int chunkCount = chunkIndex(newCapacity - 1) + 1;
+        int[][] chunks = Arrays.copyOf(winnerChunks, chunkCount);
+        for (int i = Math.max(winnerChunks.length - 1, 0); i < chunkCount; i++) {
+            int length = Math.min(CHUNK_SIZE, newCapacity - (i << CHUNK_SHIFT));
+            if (chunks[i] == null) {
+                chunks[i] = new int[length];
+            } else if (chunks[i].length < length) {
+                // The grown last chunk is a new array, no longer shared with a frozen copy
+                chunks[i] = Arrays.copyOf(chunks[i], length);
+                sharedChunks.clear(i);
+            }
+        }
+        winnerChunks = chunks;
+        capacity = capacityOf(chunks);
+    }
+
+    private static int chunkIndex(int matchIndex) {
+        return matchIndex >>> CHUNK_SHIFT;
+    }
+
+    private static int capacityOf(int[][] chunks) {
+        return chunks.length == 0 ? 0 : ((chunks.length - 1) << CHUNK_SHIFT) + chunks[chunks.length - 1].length;
+    }
+}
@@ -0,0 +1,60 @@
+package com.objectedge.artem.ai.poc.models;
+
+import java.util.*;
+
+/**
+ * Immutable copy of a round: section pairings (a wrestler left without a pair has a bye),
+ * outcomes and stage flags. Used to re-render past rounds and to rewind the tournament
+ * after the live state has moved on.
+ *
+ * Snapshots share structure: section lists and outcomes are frozen copies cached by the
+ * {@link TournamentState} and its {@link RoundOutcome}s, so every snapshot taken during a
+ * round (checkpoints and the final round snapshot) references the same pairings, and an
+ * outcome is copied again only after a result changed. Frozen outcomes are trimmed to the
+ * round's matches and reject modification.
+ */
+public class RoundSnapshot {
+    private final int roundNumber;
+    private final boolean isSemifinal;
+    private final boolean isFinal;
+    private final boolean isSuperFinal;
+    private final List<Armwrestler> topSectionWrestlers;
+    private final List<Armwrestler> bottomSectionWrestlers;
+    private final RoundOutcome topRoundOutcome;
+    private final RoundOutcome bottomRoundOutcome;
+
+    private RoundSnapshot(TournamentState state) {
+        this.roundNumber = state.getCurrentRound();
+        this.isSemifinal = state.isSemifinal();
+        this.isFinal = state.isFinal();
+        this.isSuperFinal = state.isSuperFinal();
+        this.topSectionWrestlers = state.freezeTopSection();
+        this.bottomSectionWrestlers = state.freezeBottomSection();
+        this.topRoundOutcome = state.getTopRoundOutcome().freeze();
+        this.bottomRoundOutcome = state.getBottomRoundOutcome().freeze();
+    }
+
+    /**
+     * Capture the current round of a tournament
+     */
+    public static RoundSnapshot capture(TournamentState state) {
+        return new RoundSnapshot(state);
+    }
+
+    public int getRoundNumber() { return roundNumber; }
+    public boolean isSemifinal() { return isSemifinal; }
+    public boolean isFinal() { return isFinal; }
+    public boolean isSuperFinal() { return isSuperFinal; }
+    public List<Armwrestler> getTopSectionWrestlers() { return topSectionWrestlers; }
+    public List<Armwrestler> getBottomSectionWrestlers() { return bottomSectionWrestlers; }
+    public RoundOutcome getTopRoundOutcome() { return topRoundOutcome; }
+    public RoundOutcome getBottomRoundOutcome() { return bottomRoundOutcome; }
+
+    /**
+     * @return Wrestler of the section left without a pair, or null if the section has an even size
+     */
+    public Armwrestler getByeWrestler(boolean isTopSection) {
+        List<Armwrestler> wrestlers = isTopSection ? topSectionWrestlers : bottomSectionWrestlers;
+        return wrestlers.size() % 2 != 0 ? wrestlers.get(wrestlers.size() - 1) : null;
+    }
+}
@@ -3,54 +3,132 @@ package com.objectedge.artem.ai.poc.models;
 import java.util.*;
 
 /**
- * Manages the state of the tournament including round information and wrestler lists
+ * Manages the state of the tournament including round information and wrestler lists.
+ * Section lists are replaced through the setters rather than modified in place, so the
+ * immutable copies handed to {@link RoundSnapshot}s can be shared until a section changes.
  */
 public class TournamentState {
     private List<Armwrestler> topSectionWrestlers;
     private List<Armwrestler> bottomSectionWrestlers;
-    private Map<Integer, Integer> topRoundOutcome;
-    private Map<Integer, Integer> bottomRoundOutcome;
+    private List<Armwrestler> frozenTopSection;
+    private List<Armwrestler> frozenBottomSection;
+    private RoundOutcome topRoundOutcome;
+    private RoundOutcome bottomRoundOutcome;
     private int currentRound;
     private boolean isFinal;
     private boolean isSemifinal;
     private boolean isSuperFinal;
     private List<Armwrestler> allParticipants;
+    private ParticipantIndex participantIndex;
 
     public TournamentState() {
         this.topSectionWrestlers = new ArrayList<>();
         this.bottomSectionWrestlers = new ArrayList<>();
-        this.topRoundOutcome = new HashMap<>();
-        this.bottomRoundOutcome = new HashMap<>();
+        this.topRoundOutcome = new RoundOutcome();
+        this.bottomRoundOutcome = new RoundOutcome();
         this.currentRound = 1;
         this.isFinal = false;
         this.isSemifinal = false;
         this.isSuperFinal = false;
         this.allParticipants = new ArrayList<>();
+        this.participantIndex = new ParticipantIndex();
     }
 
     // Getters
     public List<Armwrestler> getTopSectionWrestlers() { return topSectionWrestlers; }
     public List<Armwrestler> getBottomSectionWrestlers() { return bottomSectionWrestlers; }
-    public Map<Integer, Integer> getTopRoundOutcome() { return topRoundOutcome; }
-    public Map<Integer, Integer> getBottomRoundOutcome() { return bottomRoundOutcome; }
+    public RoundOutcome getTopRoundOutcome() { return topRoundOutcome; }
+    public RoundOutcome getBottomRoundOutcome() { return bottomRoundOutcome; }
     public int getCurrentRound() { return currentRound; }
     public boolean isFinal() { return isFinal; }
     public boolean isSemifinal() { return isSemifinal; }
     public boolean isSuperFinal() { return isSuperFinal; }
     public List<Armwrestler> getAllParticipants() { return allParticipants; }
+    public ParticipantIndex getParticipantIndex() { return participantIndex; }
 
     // Setters
-    public void setTopSectionWrestlers(List<Armwrestler> wrestlers) { this.topSectionWrestlers = wrestlers; }
-    public void setBottomSectionWrestlers(List<Armwrestler> wrestlers) { this.bottomSectionWrestlers = wrestlers; }
+    public void setTopSectionWrestlers(List<Armwrestler> wrestlers) {
+        this.topSectionWrestlers = wrestlers;
+        this.frozenTopSection = null;
+        participantIndex.placeSection(ParticipantIndex.TOP_SECTION, wrestlers);
+    }
+
+    public void setBottomSectionWrestlers(List<Armwrestler> wrestlers) {
+        this.bottomSectionWrestlers = wrestlers;
+        this.frozenBottomSection = null;
+        participantIndex.placeSection(ParticipantIndex.BOTTOM_SECTION, wrestlers);
+    }
+
+    /**
+     * @return Immutable copy of the top section, shared by all snapshots until the section is replaced
+     */
+    List<Armwrestler> freezeTopSection() {
+        if (frozenTopSection == null) {
+            frozenTopSection = List.copyOf(topSectionWrestlers);
+        }
+        return frozenTopSection;
+    }
+
+    List<Armwrestler> freezeBottomSection() {
+        if (frozenBottomSection == null) {
+            frozenBottomSection = List.copyOf(bottomSectionWrestlers);
+        }
+        return frozenBottomSection;
+    }
+
+    /**
+     * Make a snapshot's round the current round again: pairings, outcomes, round number
+     * and stage flags. Win/loss records are not touched.
+     */
+    public void restoreRound(RoundSnapshot round) {
+        setTopSectionWrestlers(new ArrayList<>(round.getTopSectionWrestlers()));
+        setBottomSectionWrestlers(new ArrayList<>(round.getBottomSectionWrestlers()));
+        // Later snapshots of this round keep sharing the restored section copies
+        this.frozenTopSection = round.getTopSectionWrestlers();
+        this.frozenBottomSection = round.getBottomSectionWrestlers();
+        this.topRoundOutcome.copyFrom(round.getTopRoundOutcome());
+        this.bottomRoundOutcome.copyFrom(round.getBottomRoundOutcome());
+        this.currentRound = round.getRoundNumber();
+        this.isSemifinal = round.isSemifinal();
+        this.isFinal = round.isFinal();
+        this.isSuperFinal = round.isSuperFinal();
+    }
+
     public void setCurrentRound(int round) { this.currentRound = round; }
     public void setFinal(boolean value) { this.isFinal = value; }
     public void setSemifinal(boolean value) { this.isSemifinal = value; }
     public void setSuperFinal(boolean value) { this.isSuperFinal = value; }
-    public void setAllParticipants(List<Armwrestler> participants) { this.allParticipants = participants; }
 
+    public void setAllParticipants(List<Armwrestler> participants) {
+        this.allParticipants = participants;
+        participantIndex.clear();
+        participantIndex.addAll(participants);
+    }
+
+    /**
+     * Look up a participant by ID in O(1)
+     *
+     * @return The participant, or null if the ID is unknown
+     */
+    public Armwrestler getParticipant(int id) {
+        return participantIndex.get(id);
+    }
+
+    /**
+     * Find the position of a wrestler in the current top or bottom section list in O(1)
+     *
+     * @return Index in the section list, or -1 if the wrestler is not in that section
+     */
+    public int getSectionSlot(boolean isTopSection, int id) {
+        return participantIndex.getSlot(isTopSection ? ParticipantIndex.TOP_SECTION : ParticipantIndex.BOTTOM_SECTION, id);
+    }
+
+    /**
+     * Clear round outcomes and size them for the pairs of the current sections
+     */
     public void clearRoundOutcomes() {
-        this.topRoundOutcome.clear();
-        this.bottomRoundOutcome.clear();
+        this.topRoundOutcome.reset((topSectionWrestlers.size() + 1) / 2);
+        this.bottomRoundOutcome.reset((bottomSectionWrestlers.size() + 1) / 2);
     }
 
     public void resetAllFlags() {
@@ -60,11 +138,10 @@ public class TournamentState {
     }
 
     public void initializeRound(List<Armwrestler> wrestlers) {
-        this.topSectionWrestlers = new ArrayList<>(wrestlers);
-        this.bottomSectionWrestlers = new ArrayList<>();
+        setTopSectionWrestlers(new ArrayList<>(wrestlers));
+        setBottomSectionWrestlers(new ArrayList<>());
         this.currentRound = 1;
-        this.topRoundOutcome.clear();
-        this.bottomRoundOutcome.clear();
+        clearRoundOutcomes();
         this.isFinal = false;
         this.isSemifinal = false;
         this.isSuperFinal = false;